@@ -1,19 +1,25 @@
 package com.homelibrary.dao;
 
+import com.homelibrary.event.LibraryEvent;
+import com.homelibrary.event.LibraryEventBus;
 import com.homelibrary.model.Author;
+import com.homelibrary.service.ConfigService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 /**
  * Data Access Object for Author operations.
  */
 public class AuthorDao {
     private static final Logger logger = LoggerFactory.getLogger(AuthorDao.class);
+    // Shared by all instances; only committed rows are cached
+    private static final EntityCache<Author> CACHE = new EntityCache<>(
+        ConfigService.getInstance().getEntityCacheSize(),
+        Author::getId, Author::getName, author -> new Author(author.getId(), author.getName()));
+    private static final int MAX_IDS_PER_QUERY = 500;
     private final Database database;
 
     public AuthorDao() {
@@ -25,28 +31,33 @@ public class AuthorDao {
      */
     public Author save(Author author) throws SQLException {
         if (author.getId() == null) {
-            return insert(author);
+            return insert(author, false);
         } else {
             return update(author);
         }
     }
 
     /**
-     * Insert a new author.
+     * Insert a new author. When it was created for a name that was not found, it is also
+     * cached by that name.
      */
-    private Author insert(Author author) throws SQLException {
-        String sql = "INSERT INTO author (name) VALUES (?)";
+    private Author insert(Author author, boolean cacheName) throws SQLException {
+        String sql = "INSERT INTO author (name) VALUES (?) RETURNING id";
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, author.getName());
-            pstmt.executeUpdate();
-
-            // Get the last inserted ID using SQLite-specific query
-            try (Statement stmt = database.getConnection().createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) {
-                    author.setId(rs.getInt(1));
-                    logger.debug("Inserted author: {}", author);
+            author.setId(Database.executeInsert(pstmt));
+            logger.debug("Inserted author: {}", author);
+            publishAfterCommit(LibraryEvent.Type.CREATED, author.getId());
+
+            CACHE.remove(null);
+            // Inside a transaction the row may still be rolled back
+            if (conn.getAutoCommit()) {
+                if (cacheName) {
+                    CACHE.put(author);
+                } else {
+                    CACHE.putById(author);
                 }
             }
         }
@@ -60,11 +71,15 @@ public class AuthorDao {
     private Author update(Author author) throws SQLException {
         String sql = "UPDATE author SET name = ? WHERE id = ?";
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, author.getName());
             pstmt.setInt(2, author.getId());
             pstmt.executeUpdate();
             logger.debug("Updated author: {}", author);
+            publishAfterCommit(LibraryEvent.Type.UPDATED, author.getId());
+        } finally {
+            CACHE.remove(author.getId());
         }
 
         return author;
@@ -74,14 +89,25 @@ public class AuthorDao {
      * Find author by ID.
      */
     public Optional<Author> findById(Integer id) throws SQLException {
+        Optional<Author> cached = CACHE.getById(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long generation = CACHE.generation();
         String sql = "SELECT id, name FROM author WHERE id = ?";
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return Optional.of(mapResultSetToAuthor(rs));
+                Author author = mapResultSetToAuthor(rs);
+                if (conn.getAutoCommit()) {
+                    CACHE.putById(author, generation);
+                }
+                return Optional.of(author);
             }
         }
 
@@ -92,14 +118,25 @@ public class AuthorDao {
      * Find author by name.
      */
     public Optional<Author> findByName(String name) throws SQLException {
+        Optional<Author> cached = CACHE.getByName(name);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long generation = CACHE.generation();
         String sql = "SELECT id, name FROM author WHERE name = ?";
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, name);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return Optional.of(mapResultSetToAuthor(rs));
+                Author author = mapResultSetToAuthor(rs);
+                if (conn.getAutoCommit()) {
+                    CACHE.put(author, generation);
+                }
+                return Optional.of(author);
             }
         }
 
@@ -110,15 +147,26 @@ public class AuthorDao {
      * Find all authors.
      */
     public List<Author> findAll() throws SQLException {
+        List<Author> cached = CACHE.getAll();
+        if (cached != null) {
+            return cached;
+        }
+
         List<Author> authors = new ArrayList<>();
+        long generation = CACHE.generation();
         String sql = "SELECT id, name FROM author ORDER BY name";
 
-        try (Statement stmt = database.getConnection().createStatement();
+        try (Connection conn = database.getReadConnection();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
                 authors.add(mapResultSetToAuthor(rs));
             }
+
+            if (conn.getAutoCommit()) {
+                CACHE.putAll(authors, generation);
+            }
         }
 
         logger.debug("Found {} authors", authors.size());
@@ -138,7 +186,8 @@ public class AuthorDao {
             ORDER BY a.name
             """;
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, bookId);
             ResultSet rs = pstmt.executeQuery();
 
@@ -150,22 +199,83 @@ public class AuthorDao {
         return authors;
     }
 
+    /**
+     * Find authors for a set of books in as few queries as possible.
+     * Returns a map from book ID to its authors ordered by name; books
+     * without authors are absent from the map.
+     */
+    public Map<Integer, List<Author>> findByBookIds(Collection<Integer> bookIds) throws SQLException {
+        Map<Integer, List<Author>> authorsByBook = new HashMap<>();
+        if (bookIds == null || bookIds.isEmpty()) {
+            return authorsByBook;
+        }
+
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(bookIds));
+
+        try (Connection conn = database.getReadConnection()) {
+            // Keep each statement well below SQLite's bound parameter limit
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                String sql = """
+                    SELECT ba.bookId, a.id, a.name
+                    FROM book_author ba
+                    INNER JOIN author a ON a.id = ba.authorId
+                    WHERE ba.bookId IN (%s)
+                    ORDER BY ba.bookId, a.name
+                    """.formatted(placeholders);
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setInt(i + 1, chunk.get(i));
+                    }
+                    ResultSet rs = pstmt.executeQuery();
+
+                    while (rs.next()) {
+                        authorsByBook.computeIfAbsent(rs.getInt("bookId"), k -> new ArrayList<>())
+                                .add(mapResultSetToAuthor(rs));
+                    }
+                }
+            }
+        }
+
+        return authorsByBook;
+    }
+
     /**
      * Delete author by ID.
      */
     public boolean delete(Integer id) throws SQLException {
         String sql = "DELETE FROM author WHERE id = ?";
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             int affected = pstmt.executeUpdate();
             logger.debug("Deleted author with id: {}", id);
+            if (affected > 0) {
+                publishAfterCommit(LibraryEvent.Type.DELETED, id);
+            }
             return affected > 0;
+        } finally {
+            CACHE.remove(id);
         }
     }
 
     /**
-     * Get or create author by name.
+     * Publish an author event once the change is committed, so subscribers never see a row that
+     * is rolled back. Readers may have cached the old rows while the transaction was open,
+     * so those are dropped again first.
+     */
+    private void publishAfterCommit(LibraryEvent.Type type, Integer id) throws SQLException {
+        database.afterCommit(() -> {
+            CACHE.remove(type == LibraryEvent.Type.CREATED ? null : id);
+            LibraryEventBus.getInstance().publish(LibraryEvent.of(LibraryEvent.Entity.AUTHOR, type, id));
+        });
+    }
+
+    /**
+     * Get or create author by name. Known names are resolved from the cache.
      */
     public Author getOrCreate(String name) throws SQLException {
         Optional<Author> existing = findByName(name);
@@ -174,7 +284,7 @@ public class AuthorDao {
         }
 
         Author author = new Author(name);
-        return insert(author);
+        return insert(author, true);
     }
 
     /**
@@ -0,0 +1,153 @@
+package com.homelibrary.dao;
+
+import com.homelibrary.model.Author;
+import com.homelibrary.model.Book;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache of books by id. Entries are weighed by their approximate
+ * memory footprint and the least recently used books are evicted once the total weight
+ * exceeds the limit. Books are copied in and out so callers cannot change cached state.
+ * A limit of 0 disables the cache. Books read from the database are cached only if no
+ * book was written while they were read, so a read that raced a save or delete cannot
+ * cache the row as it was before.
+ */
+final class BookCache {
+    // Rough per-object overheads in bytes; only the relative weights matter
+    private static final int BOOK_OVERHEAD = 256;
+    private static final int FIELD_OVERHEAD = 40;
+
+    private final long maxWeight;
+    private final Map<Integer, Entry> books = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long weight;
+    // Bumped on every write
+    private long generation;
+
+    BookCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    synchronized Optional<Book> get(Integer id) {
+        if (maxWeight == 0) {
+            return Optional.empty();
+        }
+        Entry entry = books.get(id);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(new Book(entry.book));
+    }
+
+    /**
+     * Get the current write generation; take it before reading a book from the database
+     * and pass it to the put of what was read.
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Cache a book read from the database, unless a book was written since the given
+     * generation was taken.
+     */
+    synchronized void put(Book book, long readGeneration) {
+        if (readGeneration == generation) {
+            store(book);
+        }
+    }
+
+    /**
+     * Cache a book that was just saved.
+     */
+    synchronized void put(Book book) {
+        generation++;
+        store(book);
+    }
+
+    private void store(Book book) {
+        long bookWeight = weigh(book);
+        if (maxWeight == 0 || book.getId() == null || bookWeight > maxWeight) {
+            return;
+        }
+
+        Entry previous = books.put(book.getId(), new Entry(new Book(book), bookWeight));
+        weight += bookWeight - (previous != null ? previous.weight : 0);
+
+        Iterator<Entry> eldest = books.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().weight;
+            eldest.remove();
+        }
+    }
+
+    synchronized void remove(Integer id) {
+        generation++;
+        Entry removed = books.remove(id);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    synchronized void clear() {
+        generation++;
+        books.clear();
+        weight = 0;
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the share of lookups answered from the cache, or 0 before the first lookup.
+     */
+    double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Estimate the memory footprint of a book in bytes.
+     */
+    private static long weigh(Book book) {
+        long bookWeight = BOOK_OVERHEAD;
+        String[] texts = {
+            book.getTitle(), book.getSubtitle(), book.getIsbn10(), book.getIsbn13(), book.getPublisher(),
+            book.getShelfLocation(), book.getTags(), book.getFormat(), book.getLanguage(), book.getNotes(),
+            book.getCoverImagePath(), book.getAmazonAsin(), book.getPhysicalLocation(), book.getBorrowedTo()
+        };
+        for (String text : texts) {
+            if (text != null) {
+                bookWeight += FIELD_OVERHEAD + 2L * text.length();
+            }
+        }
+        for (Author author : book.getAuthors()) {
+            bookWeight += FIELD_OVERHEAD + (author.getName() != null ? 2L * author.getName().length() : 0);
+        }
+        return bookWeight;
+    }
+
+    private static final class Entry {
+        private final Book book;
+        private final long weight;
+
+        Entry(Book book, long weight) {
+            this.book = book;
+            this.weight = weight;
+        }
+    }
+}
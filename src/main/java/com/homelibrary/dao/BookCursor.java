@@ -0,0 +1,56 @@
+package com.homelibrary.dao;
+
+import com.homelibrary.model.Author;
+import com.homelibrary.model.Book;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Cursor over books joined with their authors.
+ * Rows must be ordered by book ID so that the author rows of a book are adjacent.
+ */
+public class BookCursor implements Cursor<Book> {
+    private final BookDao bookDao;
+    private final Connection conn;
+    private final PreparedStatement pstmt;
+    private final ResultSet rs;
+    private boolean onRow;
+
+    BookCursor(BookDao bookDao, Connection conn, PreparedStatement pstmt) throws SQLException {
+        this.bookDao = bookDao;
+        this.conn = conn;
+        this.pstmt = pstmt;
+        this.rs = pstmt.executeQuery();
+        this.onRow = rs.next();
+    }
+
+    @Override
+    public Book next() throws SQLException {
+        if (!onRow) {
+            return null;
+        }
+
+        Book book = bookDao.mapResultSetToBook(rs);
+        int bookId = book.getId();
+        do {
+            int authorId = rs.getInt("author_id");
+            if (!rs.wasNull()) {
+                book.addAuthor(new Author(authorId, rs.getString("author_name")));
+            }
+            onRow = rs.next();
+        } while (onRow && rs.getInt("id") == bookId);
+
+        book.markClean();
+        return book;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try (conn; pstmt; rs) {
+            onRow = false;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.homelibrary.dao;
 
+import com.homelibrary.event.LibraryEvent;
+import com.homelibrary.event.LibraryEventBus;
 import com.homelibrary.model.Author;
 import com.homelibrary.model.Book;
 import com.homelibrary.model.Category;
+import com.homelibrary.service.ConfigService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,8 +13,17 @@ import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Data Access Object for Book operations.
@@ -19,6 +31,55 @@ import java.util.Optional;
 public class BookDao {
     private static final Logger logger = LoggerFactory.getLogger(BookDao.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int MIN_FULL_TEXT_QUERY_LENGTH = 3;
+    private static final int MAX_KEYS_PER_QUERY = 500;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO book (title, subtitle, isbn10, isbn13, publisher, yearPublished,
+                         categoryId, shelfLocation, tags, format, language, notes,
+                         dateAdded, isRead, rating, coverImagePath, amazonAsin,
+                         physicalLocation, isBorrowed, borrowedTo, borrowedDate)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        RETURNING id
+        """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE book SET title = ?, subtitle = ?, isbn10 = ?, isbn13 = ?, publisher = ?,
+                       yearPublished = ?, categoryId = ?, shelfLocation = ?, tags = ?,
+                       format = ?, language = ?, notes = ?, dateAdded = ?, isRead = ?,
+                       rating = ?, coverImagePath = ?, amazonAsin = ?,
+                       physicalLocation = ?, isBorrowed = ?, borrowedTo = ?, borrowedDate = ?
+        WHERE id = ?
+        """;
+
+    private static final BookSort BY_BORROWED_DATE =
+        BookSort.of(List.of(new BookSort.Key(BookSort.Column.BORROWED_DATE, false)));
+
+    // Substring match used for search text too short for the trigram index
+    private static final String PATTERN_CONDITION = """
+        (b.title LIKE ? OR b.subtitle LIKE ?
+           OR b.isbn10 LIKE ? OR b.isbn13 LIKE ?
+           OR b.tags LIKE ? OR b.publisher LIKE ?
+           OR b.physicalLocation LIKE ? OR b.borrowedTo LIKE ?
+           OR b.categoryId IN (SELECT id FROM category WHERE name LIKE ?)
+           OR b.id IN (SELECT ba.bookId FROM book_author ba
+                       INNER JOIN author a ON a.id = ba.authorId WHERE a.name LIKE ?))""";
+    private static final int PATTERN_PARAMETER_COUNT = 10;
+
+    // Books by id, shared by all DAO instances; only committed rows are cached
+    private static final BookCache CACHE =
+        new BookCache(ConfigService.getInstance().getBookCacheSizeKb() * 1024L);
+
+    static {
+        LibraryEventBus.getInstance().subscribe(BookDao::onLibraryEvent);
+    }
+
+    // Compiled SQL per query shape, shared by all DAO instances
+    private static final Map<String, String> SQL_CACHE = new ConcurrentHashMap<>();
+
+    private static final String DELETE_BOOK_AUTHORS_SQL = "DELETE FROM book_author WHERE bookId = ?";
+    private static final String INSERT_BOOK_AUTHOR_SQL = "INSERT INTO book_author (bookId, authorId) VALUES (?, ?)";
+    private static final String DELETE_BOOK_AUTHOR_SQL = "DELETE FROM book_author WHERE bookId = ? AND authorId = ?";
 
     private final Database database;
     private final AuthorDao authorDao;
@@ -34,28 +95,191 @@ public class BookDao {
      * Save a new book or update existing one.
      */
     public Book save(Book book) throws SQLException {
-        Connection conn = database.getConnection();
-        try {
+        try (Connection conn = database.getWriteConnection()) {
             conn.setAutoCommit(false);
+            List<Author> insertedAuthors = new ArrayList<>();
+            try {
+                if (book.getId() == null) {
+                    book = insert(book);
+                } else {
+                    book = update(book);
+                }
 
+                // Handle authors relationship
+                try (PreparedStatement insertAuthorStmt = conn.prepareStatement(INSERT_BOOK_AUTHOR_SQL);
+                     PreparedStatement deleteAuthorStmt = conn.prepareStatement(DELETE_BOOK_AUTHOR_SQL)) {
+                    if (linkAuthors(book, insertedAuthors, insertAuthorStmt, deleteAuthorStmt)) {
+                        insertAuthorStmt.executeBatch();
+                        deleteAuthorStmt.executeBatch();
+                    }
+                }
+
+                conn.commit();
+                book.markClean();
+                CACHE.put(book);
+                logger.debug("Saved book: {}", book);
+                return book;
+            } catch (SQLException e) {
+                conn.rollback();
+                forgetIds(insertedAuthors);
+                logger.error("Failed to save book", e);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Save many books with batched statements, committing once per batch of the configured size.
+     */
+    public List<Book> saveAll(Collection<Book> books) throws SQLException {
+        return saveAll(books, ConfigService.getInstance().getDatabaseBatchSize());
+    }
+
+    /**
+     * Save many books with batched statements, committing once every {@code batchSize} books.
+     * Batches committed before a failure stay saved; the failing batch is rolled back.
+     */
+    public List<Book> saveAll(Collection<Book> books, int batchSize) throws SQLException {
+        List<Book> saved = new ArrayList<>(books);
+        if (saved.isEmpty()) {
+            return saved;
+        }
+
+        try (Connection conn = database.getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement insertStmt = conn.prepareStatement(INSERT_SQL);
+                 PreparedStatement updateStmt = conn.prepareStatement(UPDATE_SQL);
+                 PreparedStatement deleteAuthorsStmt = conn.prepareStatement(DELETE_BOOK_AUTHORS_SQL);
+                 PreparedStatement insertAuthorStmt = conn.prepareStatement(INSERT_BOOK_AUTHOR_SQL);
+                 PreparedStatement deleteAuthorStmt = conn.prepareStatement(DELETE_BOOK_AUTHOR_SQL)) {
+
+                for (int from = 0; from < saved.size(); from += batchSize) {
+                    List<Book> batch = saved.subList(from, Math.min(from + batchSize, saved.size()));
+                    List<Book> inserted = new ArrayList<>();
+                    List<Author> insertedAuthors = new ArrayList<>();
+                    try {
+                        writeBatch(batch, inserted, insertedAuthors, insertStmt, updateStmt, deleteAuthorsStmt,
+                                   insertAuthorStmt, deleteAuthorStmt);
+                        conn.commit();
+                        for (Book book : batch) {
+                            book.markClean();
+                            CACHE.remove(book.getId());
+                        }
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        // The rolled back rows do not exist, so forget the ids assigned to them
+                        for (Book book : inserted) {
+                            book.setId(null);
+                        }
+                        forgetIds(insertedAuthors);
+                        throw e;
+                    }
+                }
+            } catch (SQLException e) {
+                logger.error("Failed to save books", e);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+
+        logger.debug("Saved {} books", saved.size());
+        return saved;
+    }
+
+    /**
+     * Write one batch of books and their author links inside the current transaction.
+     * Books loaded from the database write only their changed columns and author links;
+     * other existing books are rewritten in full. New books and authors are collected in
+     * {@code inserted} and {@code insertedAuthors}.
+     */
+    private void writeBatch(List<Book> batch, List<Book> inserted, List<Author> insertedAuthors,
+                            PreparedStatement insertStmt, PreparedStatement updateStmt,
+                            PreparedStatement deleteAuthorsStmt, PreparedStatement insertAuthorStmt,
+                            PreparedStatement deleteAuthorStmt) throws SQLException {
+        List<Book> rewritten = new ArrayList<>();
+        for (Book book : batch) {
             if (book.getId() == null) {
-                book = insert(book);
+                // RETURNING yields no rows from a JDBC batch, so inserts run one by one;
+                // SQLite executes batches row by row anyway
+                setPreparedStatementParameters(insertStmt, book);
+                book.setId(Database.executeInsert(insertStmt));
+                inserted.add(book);
+            } else if (book.isTracked()) {
+                updateChangedColumns(book);
             } else {
-                book = update(book);
+                setPreparedStatementParameters(updateStmt, book);
+                updateStmt.setInt(22, book.getId());
+                updateStmt.addBatch();
+                rewritten.add(book);
             }
+        }
 
-            // Handle authors relationship
-            saveBookAuthors(book);
+        if (!rewritten.isEmpty()) {
+            updateStmt.executeBatch();
+            for (Book book : rewritten) {
+                deleteAuthorsStmt.setInt(1, book.getId());
+                deleteAuthorsStmt.addBatch();
+            }
+            deleteAuthorsStmt.executeBatch();
+        }
 
-            conn.commit();
-            logger.debug("Saved book: {}", book);
-            return book;
-        } catch (SQLException e) {
-            conn.rollback();
-            logger.error("Failed to save book", e);
-            throw e;
-        } finally {
-            conn.setAutoCommit(true);
+        boolean hasLinkChanges = false;
+        for (Book book : batch) {
+            hasLinkChanges |= linkAuthors(book, insertedAuthors, insertAuthorStmt, deleteAuthorStmt);
+        }
+        if (hasLinkChanges) {
+            insertAuthorStmt.executeBatch();
+            deleteAuthorStmt.executeBatch();
+        }
+    }
+
+    /**
+     * Add the author link changes of a book to the insert and delete batches.
+     * A tracked book is compared with the links it was loaded with; any other book is
+     * assumed to have no links yet. Authors saved here are added to {@code insertedAuthors}.
+     * Returns whether any change was added.
+     */
+    private boolean linkAuthors(Book book, List<Author> insertedAuthors, PreparedStatement insertAuthorStmt,
+                                PreparedStatement deleteAuthorStmt) throws SQLException {
+        Set<Integer> savedAuthorIds = book.isTracked() ? book.getSavedAuthorIds() : Set.of();
+        Set<Integer> linkedAuthorIds = new LinkedHashSet<>();
+        boolean changed = false;
+
+        for (Author author : book.getAuthors()) {
+            // Ensure author is saved
+            if (author.getId() == null) {
+                authorDao.save(author);
+                insertedAuthors.add(author);
+            }
+            if (linkedAuthorIds.add(author.getId()) && !savedAuthorIds.contains(author.getId())) {
+                insertAuthorStmt.setInt(1, book.getId());
+                insertAuthorStmt.setInt(2, author.getId());
+                insertAuthorStmt.addBatch();
+                changed = true;
+            }
+        }
+        for (Integer authorId : savedAuthorIds) {
+            if (!linkedAuthorIds.contains(authorId)) {
+                deleteAuthorStmt.setInt(1, book.getId());
+                deleteAuthorStmt.setInt(2, authorId);
+                deleteAuthorStmt.addBatch();
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Forget the ids of authors whose insert was rolled back, so that saving them again
+     * inserts them again.
+     */
+    private static void forgetIds(List<Author> insertedAuthors) {
+        for (Author author : insertedAuthors) {
+            author.setId(null);
         }
     }
 
@@ -63,116 +287,149 @@ public class BookDao {
      * Insert a new book.
      */
     private Book insert(Book book) throws SQLException {
-        String sql = """
-            INSERT INTO book (title, subtitle, isbn10, isbn13, publisher, yearPublished,
-                             categoryId, shelfLocation, tags, format, language, notes,
-                             dateAdded, isRead, rating, coverImagePath, amazonAsin,
-                             physicalLocation, isBorrowed, borrowedTo, borrowedDate)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """;
-
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
             setPreparedStatementParameters(pstmt, book);
-            pstmt.executeUpdate();
-
-            // Get the last inserted ID using SQLite-specific query
-            try (Statement stmt = database.getConnection().createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) {
-                    book.setId(rs.getInt(1));
-                }
-            }
+            book.setId(Database.executeInsert(pstmt));
         }
 
         return book;
     }
 
     /**
-     * Update an existing book.
+     * Update an existing book. A book loaded from the database writes only its changed
+     * columns; any other book is rewritten in full and its author links are dropped so
+     * they can be linked again.
      */
     private Book update(Book book) throws SQLException {
-        String sql = """
-            UPDATE book SET title = ?, subtitle = ?, isbn10 = ?, isbn13 = ?, publisher = ?,
-                           yearPublished = ?, categoryId = ?, shelfLocation = ?, tags = ?,
-                           format = ?, language = ?, notes = ?, dateAdded = ?, isRead = ?,
-                           rating = ?, coverImagePath = ?, amazonAsin = ?,
-                           physicalLocation = ?, isBorrowed = ?, borrowedTo = ?, borrowedDate = ?
-            WHERE id = ?
-            """;
+        if (book.isTracked()) {
+            updateChangedColumns(book);
+            return book;
+        }
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL);
+             PreparedStatement deleteAuthorsStmt = conn.prepareStatement(DELETE_BOOK_AUTHORS_SQL)) {
             setPreparedStatementParameters(pstmt, book);
             pstmt.setInt(22, book.getId());
             pstmt.executeUpdate();
+
+            deleteAuthorsStmt.setInt(1, book.getId());
+            deleteAuthorsStmt.executeUpdate();
         }
 
         return book;
     }
 
     /**
-     * Set common prepared statement parameters for insert and update.
+     * Write only the columns of the book that changed since it was loaded or saved.
+     * The SQL depends only on which fields changed, so the statement cache reuses it.
      */
-    private void setPreparedStatementParameters(PreparedStatement pstmt, Book book) throws SQLException {
-        pstmt.setString(1, book.getTitle());
-        pstmt.setString(2, book.getSubtitle());
-        pstmt.setString(3, book.getIsbn10());
-        pstmt.setString(4, book.getIsbn13());
-        pstmt.setString(5, book.getPublisher());
-        pstmt.setObject(6, book.getYearPublished());
-        pstmt.setObject(7, book.getCategory() != null ? book.getCategory().getId() : null);
-        pstmt.setString(8, book.getShelfLocation());
-        pstmt.setString(9, book.getTags());
-        pstmt.setString(10, book.getFormat());
-        pstmt.setString(11, book.getLanguage());
-        pstmt.setString(12, book.getNotes());
-        pstmt.setString(13, book.getDateAdded() != null ? book.getDateAdded().format(DATE_FORMATTER) : null);
-        pstmt.setInt(14, book.isRead() ? 1 : 0);
-        pstmt.setObject(15, book.getRating());
-        pstmt.setString(16, book.getCoverImagePath());
-        pstmt.setString(17, book.getAmazonAsin());
-        pstmt.setString(18, book.getPhysicalLocation());
-        pstmt.setInt(19, book.isBorrowed() ? 1 : 0);
-        pstmt.setString(20, book.getBorrowedTo());
-        pstmt.setString(21, book.getBorrowedDate() != null ? book.getBorrowedDate().format(DATE_FORMATTER) : null);
-    }
-
-    /**
-     * Save book-author relationships.
-     */
-    private void saveBookAuthors(Book book) throws SQLException {
-        if (book.getId() == null) {
+    private void updateChangedColumns(Book book) throws SQLException {
+        Set<Book.Field> changed = book.getDirtyFields();
+        if (changed.isEmpty()) {
             return;
         }
 
-        // Delete existing relationships
-        String deleteSql = "DELETE FROM book_author WHERE bookId = ?";
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(deleteSql)) {
-            pstmt.setInt(1, book.getId());
+        // Dirty fields iterate in column order, which keeps the SQL text stable
+        List<Book.Field> fields = new ArrayList<>(changed);
+        StringJoiner assignments = new StringJoiner(", ");
+        for (Book.Field field : fields) {
+            assignments.add(columnName(field) + " = ?");
+        }
+        String sql = "UPDATE book SET " + assignments + " WHERE id = ?";
+
+        try (Connection conn = database.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < fields.size(); i++) {
+                setFieldParameter(pstmt, i + 1, book, fields.get(i));
+            }
+            pstmt.setInt(fields.size() + 1, book.getId());
             pstmt.executeUpdate();
         }
+    }
 
-        // Insert new relationships
-        if (book.getAuthors() != null && !book.getAuthors().isEmpty()) {
-            String insertSql = "INSERT INTO book_author (bookId, authorId) VALUES (?, ?)";
-            try (PreparedStatement pstmt = database.getConnection().prepareStatement(insertSql)) {
-                for (Author author : book.getAuthors()) {
-                    // Ensure author is saved
-                    if (author.getId() == null) {
-                        author = authorDao.save(author);
-                    }
+    /**
+     * Set common prepared statement parameters for insert and update.
+     */
+    private void setPreparedStatementParameters(PreparedStatement pstmt, Book book) throws SQLException {
+        Book.Field[] fields = Book.Field.values();
+        for (int i = 0; i < fields.length; i++) {
+            setFieldParameter(pstmt, i + 1, book, fields[i]);
+        }
+    }
 
-                    pstmt.setInt(1, book.getId());
-                    pstmt.setInt(2, author.getId());
-                    pstmt.executeUpdate();
-                }
-            }
+    /**
+     * Bind the value of one book field to a statement parameter.
+     */
+    private void setFieldParameter(PreparedStatement pstmt, int index, Book book, Book.Field field)
+            throws SQLException {
+        switch (field) {
+            case TITLE -> pstmt.setString(index, book.getTitle());
+            case SUBTITLE -> pstmt.setString(index, book.getSubtitle());
+            case ISBN10 -> pstmt.setString(index, book.getIsbn10());
+            case ISBN13 -> pstmt.setString(index, book.getIsbn13());
+            case PUBLISHER -> pstmt.setString(index, book.getPublisher());
+            case YEAR_PUBLISHED -> pstmt.setObject(index, book.getYearPublished());
+            case CATEGORY -> pstmt.setObject(index, book.getCategory() != null ? book.getCategory().getId() : null);
+            case SHELF_LOCATION -> pstmt.setString(index, book.getShelfLocation());
+            case TAGS -> pstmt.setString(index, book.getTags());
+            case FORMAT -> pstmt.setString(index, book.getFormat());
+            case LANGUAGE -> pstmt.setString(index, book.getLanguage());
+            case NOTES -> pstmt.setString(index, book.getNotes());
+            case DATE_ADDED -> pstmt.setString(index,
+                book.getDateAdded() != null ? book.getDateAdded().format(DATE_FORMATTER) : null);
+            case READ -> pstmt.setInt(index, book.isRead() ? 1 : 0);
+            case RATING -> pstmt.setObject(index, book.getRating());
+            case COVER_IMAGE_PATH -> pstmt.setString(index, book.getCoverImagePath());
+            case AMAZON_ASIN -> pstmt.setString(index, book.getAmazonAsin());
+            case PHYSICAL_LOCATION -> pstmt.setString(index, book.getPhysicalLocation());
+            case BORROWED -> pstmt.setInt(index, book.isBorrowed() ? 1 : 0);
+            case BORROWED_TO -> pstmt.setString(index, book.getBorrowedTo());
+            case BORROWED_DATE -> pstmt.setString(index,
+                book.getBorrowedDate() != null ? book.getBorrowedDate().format(DATE_FORMATTER) : null);
         }
     }
 
     /**
-     * Find book by ID.
+     * Get the book table column that stores a field.
+     */
+    private static String columnName(Book.Field field) {
+        return switch (field) {
+            case TITLE -> "title";
+            case SUBTITLE -> "subtitle";
+            case ISBN10 -> "isbn10";
+            case ISBN13 -> "isbn13";
+            case PUBLISHER -> "publisher";
+            case YEAR_PUBLISHED -> "yearPublished";
+            case CATEGORY -> "categoryId";
+            case SHELF_LOCATION -> "shelfLocation";
+            case TAGS -> "tags";
+            case FORMAT -> "format";
+            case LANGUAGE -> "language";
+            case NOTES -> "notes";
+            case DATE_ADDED -> "dateAdded";
+            case READ -> "isRead";
+            case RATING -> "rating";
+            case COVER_IMAGE_PATH -> "coverImagePath";
+            case AMAZON_ASIN -> "amazonAsin";
+            case PHYSICAL_LOCATION -> "physicalLocation";
+            case BORROWED -> "isBorrowed";
+            case BORROWED_TO -> "borrowedTo";
+            case BORROWED_DATE -> "borrowedDate";
+        };
+    }
+
+    /**
+     * Find book by ID, from the book cache when possible.
      */
     public Optional<Book> findById(Integer id) throws SQLException {
+        Optional<Book> cached = CACHE.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long generation = CACHE.generation();
         String sql = """
             SELECT b.*, c.id as cat_id, c.name as cat_name
             FROM book b
@@ -180,7 +437,8 @@ public class BookDao {
             WHERE b.id = ?
             """;
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             ResultSet rs = pstmt.executeQuery();
 
@@ -188,6 +446,10 @@ public class BookDao {
                 Book book = mapResultSetToBook(rs);
                 // Load authors
                 book.setAuthors(authorDao.findByBookId(book.getId()));
+                book.markClean();
+                if (conn.getAutoCommit()) {
+                    CACHE.put(book, generation);
+                }
                 return Optional.of(book);
             }
         }
@@ -199,168 +461,682 @@ public class BookDao {
      * Find all books.
      */
     public List<Book> findAll() throws SQLException {
-        List<Book> books = new ArrayList<>();
-        String sql = """
-            SELECT b.*, c.id as cat_id, c.name as cat_name
-            FROM book b
-            LEFT JOIN category c ON b.categoryId = c.id
-            ORDER BY b.title
-            """;
+        return findAll(BookSort.UNSORTED);
+    }
 
-        try (Statement stmt = database.getConnection().createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    /**
+     * Find all books in the given order; by title when unsorted.
+     */
+    public List<Book> findAll(BookSort sort) throws SQLException {
+        return find(new BookQuery(), sort);
+    }
 
-            while (rs.next()) {
-                Book book = mapResultSetToBook(rs);
-                // Load authors for each book
-                book.setAuthors(authorDao.findByBookId(book.getId()));
-                books.add(book);
+    /**
+     * Find books matching the query in the given order.
+     */
+    public List<Book> find(BookQuery query, BookSort sort) throws SQLException {
+        return find(query, sort, new QueryCancellation());
+    }
+
+    /**
+     * Find books matching all criteria of the query with a single statement, allowing it to be
+     * cancelled from another thread. When unsorted, full-text queries are ordered by relevance
+     * and all others by title.
+     */
+    public List<Book> find(BookQuery query, BookSort sort, QueryCancellation cancellation) throws SQLException {
+        boolean byRelevance = sort.isEmpty() && query.getText() != null && isFullTextQuery(query.getText());
+        BookSort order = sort.orElse(BookSort.BY_TITLE);
+        List<Object> params = new ArrayList<>();
+        String sql = compile("find", query, order, null, byRelevance, params, where -> byRelevance
+            ? """
+                SELECT b.*, c.id as cat_id, c.name as cat_name
+                FROM book_fts f
+                INNER JOIN book b ON b.id = f.rowid
+                LEFT JOIN category c ON b.categoryId = c.id
+                %s
+                ORDER BY bm25(book_fts, 10.0, 5.0, 3.0, 3.0, 2.0, 2.0, 1.0, 1.0, 2.0, 8.0), b.title
+                """.formatted(where)
+            : """
+                SELECT b.*, c.id as cat_id, c.name as cat_name
+                FROM book b
+                LEFT JOIN category c ON b.categoryId = c.id
+                %s
+                %s
+                """.formatted(where, order.toOrderBy()));
+
+        List<Book> books = new ArrayList<>();
+        try (Connection conn = database.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            setParameters(pstmt, params);
+            cancellation.register(pstmt);
+            try {
+                ResultSet rs = pstmt.executeQuery();
+
+                while (rs.next()) {
+                    books.add(mapResultSetToBook(rs));
+                }
+            } finally {
+                cancellation.unregister();
             }
         }
 
+        if (cancellation.isCancelled()) {
+            throw new SQLException("Query cancelled");
+        }
+        loadAuthors(books);
+
         logger.debug("Found {} books", books.size());
         return books;
     }
 
     /**
-     * Search books by title, author, ISBN, category, tags, physical location, or borrower.
+     * Count books matching the query.
      */
-    public List<Book> search(String query) throws SQLException {
-        List<Book> books = new ArrayList<>();
-        String sql = """
-            SELECT DISTINCT b.*, c.id as cat_id, c.name as cat_name
-            FROM book b
-            LEFT JOIN category c ON b.categoryId = c.id
-            LEFT JOIN book_author ba ON b.id = ba.bookId
-            LEFT JOIN author a ON ba.authorId = a.id
-            WHERE b.title LIKE ? OR b.subtitle LIKE ?
-               OR b.isbn10 LIKE ? OR b.isbn13 LIKE ?
-               OR a.name LIKE ?
-               OR c.name LIKE ?
-               OR b.tags LIKE ?
-               OR b.publisher LIKE ?
-               OR b.physicalLocation LIKE ?
-               OR b.borrowedTo LIKE ?
-            ORDER BY b.title
-            """;
+    public int count(BookQuery query) throws SQLException {
+        return count(query, new QueryCancellation());
+    }
 
-        String searchPattern = "%" + query + "%";
+    /**
+     * Count books matching the query, allowing the count to be cancelled from another thread.
+     */
+    private int count(BookQuery query, QueryCancellation cancellation) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = compile("count", query, BookSort.UNSORTED, null, false, params,
+            where -> "SELECT COUNT(*) FROM book b " + where);
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
-            pstmt.setString(3, searchPattern);
-            pstmt.setString(4, searchPattern);
-            pstmt.setString(5, searchPattern);
-            pstmt.setString(6, searchPattern);
-            pstmt.setString(7, searchPattern);
-            pstmt.setString(8, searchPattern);
-            pstmt.setString(9, searchPattern);
-            pstmt.setString(10, searchPattern);
+        try (Connection conn = database.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            setParameters(pstmt, params);
+            cancellation.register(pstmt);
+            try {
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            } finally {
+                cancellation.unregister();
+            }
+        }
+        return 0;
+    }
 
-            ResultSet rs = pstmt.executeQuery();
+    /**
+     * Find the books with any of the given ISBN-10s or ISBN-13s, or with one of the given titles
+     * ignoring ASCII case, for duplicate checks. Only the id, title, ISBNs and authors are read,
+     * and each lookup uses an index.
+     */
+    public List<Book> findByIsbnOrTitle(Collection<String> isbn10s, Collection<String> isbn13s,
+                                        Collection<String> titles) throws SQLException {
+        Map<Integer, Book> books = new LinkedHashMap<>();
+        try (Connection conn = database.getReadConnection()) {
+            findKeysIn(conn, "b.isbn10", isbn10s, books);
+            findKeysIn(conn, "b.isbn13", isbn13s, books);
+            findKeysIn(conn, "b.title COLLATE NOCASE", titles, books);
+        }
 
-            while (rs.next()) {
-                Book book = mapResultSetToBook(rs);
-                book.setAuthors(authorDao.findByBookId(book.getId()));
-                books.add(book);
+        Map<Integer, List<Author>> authorsByBook = authorDao.findByBookIds(books.keySet());
+        for (Book book : books.values()) {
+            book.setAuthors(authorsByBook.getOrDefault(book.getId(), new ArrayList<>()));
+            book.markClean();
+        }
+        return new ArrayList<>(books.values());
+    }
+
+    /**
+     * Add the id, title and ISBNs of the books whose indexed column is one of the values.
+     */
+    private void findKeysIn(Connection conn, String column, Collection<String> values,
+                            Map<Integer, Book> books) throws SQLException {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        // Keep each statement well below SQLite's bound parameter limit
+        for (int from = 0; from < distinct.size(); from += MAX_KEYS_PER_QUERY) {
+            List<String> chunk = distinct.subList(from, Math.min(from + MAX_KEYS_PER_QUERY, distinct.size()));
+            String sql = """
+                SELECT b.id, b.title, b.isbn10, b.isbn13
+                FROM book b
+                WHERE %s IN (%s)
+                """.formatted(column, String.join(", ", Collections.nCopies(chunk.size(), "?")));
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setString(i + 1, chunk.get(i));
+                }
+                ResultSet rs = pstmt.executeQuery();
+
+                while (rs.next()) {
+                    Book book = new Book();
+                    book.setId(rs.getInt("id"));
+                    book.setTitle(rs.getString("title"));
+                    book.setIsbn10(rs.getString("isbn10"));
+                    book.setIsbn13(rs.getString("isbn13"));
+                    books.putIfAbsent(book.getId(), book);
+                }
             }
         }
+    }
 
-        return books;
+    /**
+     * Find a page of books ordered by title, starting after the given key (null for the first page).
+     */
+    public BookPage findPage(BookPage.Key after, int pageSize) throws SQLException {
+        return findPage(new BookQuery(), after, pageSize, BookSort.UNSORTED);
     }
 
     /**
-     * Find books by category.
+     * Find a page of books in the given order, starting after the given key (null for the first page).
      */
-    public List<Book> findByCategory(Integer categoryId) throws SQLException {
-        List<Book> books = new ArrayList<>();
-        String sql = """
-            SELECT b.*, c.id as cat_id, c.name as cat_name
+    public BookPage findPage(BookPage.Key after, int pageSize, BookSort sort) throws SQLException {
+        return findPage(new BookQuery(), after, pageSize, sort);
+    }
+
+    /**
+     * Find a page of books matching the query in the given order, starting after the given key
+     * (null for the first page). Pages are read with keyset pagination on the sort columns and ID,
+     * so a deep page costs the same as the first one.
+     */
+    public BookPage findPage(BookQuery query, BookPage.Key after, int pageSize, BookSort sort) throws SQLException {
+        return findPage(query, after, pageSize, sort, new QueryCancellation());
+    }
+
+    /**
+     * Find a page of books matching the query in the given order, allowing it to be cancelled
+     * from another thread.
+     */
+    public BookPage findPage(BookQuery query, BookPage.Key after, int pageSize, BookSort sort,
+                             QueryCancellation cancellation) throws SQLException {
+        BookSort order = sort.orElse(BookSort.BY_TITLE);
+        List<Object> params = new ArrayList<>();
+        String sql = compile("page", query, order, after, false, params, where -> """
+            SELECT b.*, c.id as cat_id, c.name as cat_name%s
             FROM book b
             LEFT JOIN category c ON b.categoryId = c.id
-            WHERE b.categoryId = ?
-            ORDER BY b.title
-            """;
+            %s
+            %s
+            LIMIT ?
+            """.formatted(sortValueColumns(order), where, order.toOrderBy()));
+        params.add(pageSize);
+
+        List<Book> books = new ArrayList<>();
+        BookPage.Key lastKey = null;
+        int totalCount = -1;
+        try (Connection conn = database.getReadConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                setParameters(pstmt, params);
+                cancellation.register(pstmt);
+                try {
+                    ResultSet rs = pstmt.executeQuery();
+
+                    while (rs.next()) {
+                        Book book = mapResultSetToBook(rs);
+                        books.add(book);
+                        lastKey = new BookPage.Key(readSortValues(rs, order), book.getId());
+                    }
+                } finally {
+                    cancellation.unregister();
+                }
+            }
+
+            if (after == null) {
+                totalCount = count(query, cancellation);
+            }
+        }
+
+        if (cancellation.isCancelled()) {
+            throw new SQLException("Query cancelled");
+        }
+
+        loadAuthors(books);
+        return new BookPage(books, lastKey, totalCount);
+    }
+
+    /**
+     * Find the key of the book {@code offset} positions after the given key (null for the start),
+     * ordered by title.
+     */
+    public Optional<BookPage.Key> findKeyAt(BookPage.Key after, int offset) throws SQLException {
+        return findKeyAt(new BookQuery(), after, offset, BookSort.UNSORTED);
+    }
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
-            pstmt.setInt(1, categoryId);
+    /**
+     * Find the key of the book {@code offset} positions after the given key (null for the start).
+     */
+    public Optional<BookPage.Key> findKeyAt(BookPage.Key after, int offset, BookSort sort) throws SQLException {
+        return findKeyAt(new BookQuery(), after, offset, sort);
+    }
+
+    /**
+     * Find the key of the matching book {@code offset} positions after the given key (null for the start).
+     * Only the sort columns are read, which makes it a cheap way to locate the start of a distant page.
+     */
+    public Optional<BookPage.Key> findKeyAt(BookQuery query, BookPage.Key after, int offset, BookSort sort)
+            throws SQLException {
+        BookSort order = sort.orElse(BookSort.BY_TITLE);
+        List<Object> params = new ArrayList<>();
+        String sql = compile("key", query, order, after, false, params, where -> """
+            SELECT b.id%s
+            FROM book b
+            %s
+            %s
+            %s
+            LIMIT 1 OFFSET ?
+            """.formatted(
+                sortValueColumns(order),
+                order.usesCategory() ? "LEFT JOIN category c ON b.categoryId = c.id" : "",
+                where,
+                order.toOrderBy()));
+        params.add(offset);
+
+        try (Connection conn = database.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            setParameters(pstmt, params);
             ResultSet rs = pstmt.executeQuery();
 
-            while (rs.next()) {
-                Book book = mapResultSetToBook(rs);
-                book.setAuthors(authorDao.findByBookId(book.getId()));
-                books.add(book);
+            if (rs.next()) {
+                return Optional.of(new BookPage.Key(readSortValues(rs, order), rs.getInt("id")));
             }
         }
 
-        return books;
+        return Optional.empty();
     }
 
     /**
-     * Find books by read status.
+     * Compile a query into SQL and collect its parameters.
+     * The SQL text depends only on the shape of the query (the statement kind, which criteria
+     * are set, the sort and which keyset values are NULL), so it is built once per shape and
+     * reused; later queries of the same shape only collect their parameter values.
      */
-    public List<Book> findByReadStatus(boolean isRead) throws SQLException {
-        List<Book> books = new ArrayList<>();
+    private String compile(String kind, BookQuery query, BookSort sort, BookPage.Key after, boolean byRelevance,
+                           List<Object> params, Function<String, String> template) {
+        String shape = kind + "|" + query.getShape() + "|" + byRelevance + "|" + sort.toOrderBy() + "|" + keysetShape(after);
+        String sql = SQL_CACHE.get(shape);
+
+        List<String> conditions = sql == null ? new ArrayList<>() : null;
+        addCriteria(query, byRelevance, conditions, params);
+        addKeyset(sort, after, conditions, params);
+
+        if (sql == null) {
+            sql = template.apply(conditions.isEmpty() ? "" : "WHERE " + String.join("\n  AND ", conditions));
+            SQL_CACHE.putIfAbsent(shape, sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Add the conditions for the query criteria and their parameters.
+     * Conditions are only built when a list is given; parameters are always collected.
+     */
+    private static void addCriteria(BookQuery query, boolean byRelevance, List<String> conditions, List<Object> params) {
+        String text = query.getText();
+        if (text != null) {
+            if (isFullTextQuery(text)) {
+                addCondition(conditions, byRelevance
+                    ? "book_fts MATCH ?"
+                    : "b.id IN (SELECT rowid FROM book_fts WHERE book_fts MATCH ?)");
+                params.add(toFullTextPhrase(text));
+            } else {
+                // The trigram index cannot match terms shorter than three characters
+                addCondition(conditions, PATTERN_CONDITION);
+                String searchPattern = "%" + text + "%";
+                for (int i = 0; i < PATTERN_PARAMETER_COUNT; i++) {
+                    params.add(searchPattern);
+                }
+            }
+        }
+        if (query.getCategoryId() != null) {
+            addCondition(conditions, "b.categoryId = ?");
+            params.add(query.getCategoryId());
+        }
+        if (query.getRead() != null) {
+            addCondition(conditions, "b.isRead = ?");
+            params.add(query.getRead() ? 1 : 0);
+        }
+        if (query.getBorrowed() != null) {
+            addCondition(conditions, "b.isBorrowed = ?");
+            params.add(query.getBorrowed() ? 1 : 0);
+        }
+        if (query.getYearFrom() != null) {
+            addCondition(conditions, "b.yearPublished >= ?");
+            params.add(query.getYearFrom());
+        }
+        if (query.getYearTo() != null) {
+            addCondition(conditions, "b.yearPublished <= ?");
+            params.add(query.getYearTo());
+        }
+        if (query.getMinRating() != null) {
+            addCondition(conditions, "b.rating >= ?");
+            params.add(query.getMinRating());
+        }
+        if (query.getFormat() != null) {
+            addCondition(conditions, "b.format = ?");
+            params.add(query.getFormat());
+        }
+        if (query.getLanguage() != null) {
+            addCondition(conditions, "b.language = ?");
+            params.add(query.getLanguage());
+        }
+        if (query.getTags() != null) {
+            addCondition(conditions, "b.tags LIKE ?");
+            params.add("%" + query.getTags() + "%");
+        }
+    }
+
+    private static void addCondition(List<String> conditions, String condition) {
+        if (conditions != null) {
+            conditions.add(condition);
+        }
+    }
+
+    /**
+     * Check whether a search text is long enough for the full-text index.
+     */
+    static boolean isFullTextQuery(String text) {
+        return text.codePointCount(0, text.length()) >= MIN_FULL_TEXT_QUERY_LENGTH;
+    }
+
+    /**
+     * Build the select list entries that expose the sort column values as sort_0, sort_1, ...
+     */
+    private static String sortValueColumns(BookSort sort) {
+        StringBuilder columns = new StringBuilder();
+        List<BookSort.Key> keys = sort.getKeys();
+        for (int i = 0; i < keys.size(); i++) {
+            columns.append(", ").append(keys.get(i).getColumn().getExpression()).append(" AS sort_").append(i);
+        }
+        return columns.toString();
+    }
+
+    /**
+     * Read the sort column values selected by {@link #sortValueColumns}.
+     */
+    private static List<Object> readSortValues(ResultSet rs, BookSort sort) throws SQLException {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < sort.getKeys().size(); i++) {
+            values.add(rs.getObject("sort_" + i));
+        }
+        return values;
+    }
+
+    /**
+     * Describe which values of a keyset position are NULL, since NULLs change the seek condition.
+     */
+    private static String keysetShape(BookPage.Key after) {
+        if (after == null) {
+            return "-";
+        }
+        StringBuilder shape = new StringBuilder("k");
+        for (Object value : after.getSortValues()) {
+            shape.append(value == null ? '0' : '1');
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Add the condition that selects the rows following the given key in the sort order.
+     * Nothing is added when there is no key.
+     * SQLite puts NULLs first in ascending order and last in descending order.
+     */
+    private static void addKeyset(BookSort sort, BookPage.Key after, List<String> conditions, List<Object> params) {
+        if (after == null) {
+            return;
+        }
+
+        // (k1 after v1) OR (k1 IS v1 AND k2 after v2) OR ... OR (all equal AND id after lastId)
+        List<String> alternatives = new ArrayList<>();
+        List<BookSort.Key> keys = sort.getKeys();
+        for (int i = 0; i <= keys.size(); i++) {
+            List<String> terms = new ArrayList<>();
+            List<Object> termParams = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                terms.add(keys.get(j).getColumn().getExpression() + " IS ?");
+                termParams.add(after.getSortValues().get(j));
+            }
+
+            if (i < keys.size()) {
+                String expression = keys.get(i).getColumn().getExpression();
+                Object value = after.getSortValues().get(i);
+                if (keys.get(i).isAscending()) {
+                    if (value == null) {
+                        terms.add(expression + " IS NOT NULL");
+                    } else {
+                        terms.add(expression + " > ?");
+                        termParams.add(value);
+                    }
+                } else {
+                    if (value == null) {
+                        // Nothing follows NULL in descending order
+                        continue;
+                    }
+                    terms.add("(" + expression + " < ? OR " + expression + " IS NULL)");
+                    termParams.add(value);
+                }
+            } else {
+                terms.add(sort.isIdAscending() ? "b.id > ?" : "b.id < ?");
+                termParams.add(after.getId());
+            }
+
+            alternatives.add("(" + String.join(" AND ", terms) + ")");
+            params.addAll(termParams);
+        }
+
+        addCondition(conditions, "(" + String.join(" OR ", alternatives) + ")");
+    }
+
+    /**
+     * Bind positional parameters in order.
+     */
+    private static void setParameters(PreparedStatement pstmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setObject(i + 1, params.get(i));
+        }
+    }
+
+    /**
+     * Open a cursor over all books with their authors, ordered by ID.
+     * Books are read one at a time, so memory use does not grow with the library.
+     */
+    public BookCursor openCursor() throws SQLException {
         String sql = """
-            SELECT b.*, c.id as cat_id, c.name as cat_name
+            SELECT b.*, c.id as cat_id, c.name as cat_name, a.id as author_id, a.name as author_name
             FROM book b
             LEFT JOIN category c ON b.categoryId = c.id
-            WHERE b.isRead = ?
-            ORDER BY b.title
+            LEFT JOIN book_author ba ON b.id = ba.bookId
+            LEFT JOIN author a ON ba.authorId = a.id
+            ORDER BY b.id, a.name
             """;
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
-            pstmt.setInt(1, isRead ? 1 : 0);
+        Connection conn = database.getReadConnection();
+        try {
+            return new BookCursor(this, conn, conn.prepareStatement(sql));
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a cursor over the distinct cover image paths of all books.
+     */
+    public Cursor<String> openCoverImagePathCursor() throws SQLException {
+        String sql = """
+            SELECT DISTINCT coverImagePath
+            FROM book
+            WHERE coverImagePath IS NOT NULL AND coverImagePath != ''
+            """;
+
+        Connection conn = database.getReadConnection();
+        try {
+            PreparedStatement pstmt = conn.prepareStatement(sql);
             ResultSet rs = pstmt.executeQuery();
+            return new Cursor<>() {
+                @Override
+                public String next() throws SQLException {
+                    return rs.next() ? rs.getString(1) : null;
+                }
 
-            while (rs.next()) {
-                Book book = mapResultSetToBook(rs);
-                book.setAuthors(authorDao.findByBookId(book.getId()));
-                books.add(book);
-            }
+                @Override
+                public void close() throws SQLException {
+                    try (conn; pstmt; rs) {
+                        // Release the statement and the pooled connection
+                    }
+                }
+            };
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
         }
+    }
 
-        return books;
+    /**
+     * Search books by title, author, ISBN, category, tags, physical location, or borrower.
+     * Results are ranked by relevance using the book_fts full-text index.
+     */
+    public List<Book> search(String query) throws SQLException {
+        return search(query, new QueryCancellation());
+    }
+
+    /**
+     * Search books, allowing the query to be cancelled from another thread.
+     */
+    public List<Book> search(String query, QueryCancellation cancellation) throws SQLException {
+        return search(query, BookSort.UNSORTED, cancellation);
+    }
+
+    /**
+     * Search books in the given order; by relevance when unsorted.
+     */
+    public List<Book> search(String query, BookSort sort, QueryCancellation cancellation) throws SQLException {
+        BookQuery bookQuery = new BookQuery();
+        bookQuery.setText(query);
+        return find(bookQuery, sort, cancellation);
+    }
+
+    /**
+     * Quote a user query as a single FTS5 phrase so that operators and punctuation are matched literally.
+     */
+    private static String toFullTextPhrase(String query) {
+        return "\"" + query.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Find books by category.
+     */
+    public List<Book> findByCategory(Integer categoryId) throws SQLException {
+        return findByCategory(categoryId, BookSort.UNSORTED);
+    }
+
+    /**
+     * Find books by category in the given order; by title when unsorted.
+     */
+    public List<Book> findByCategory(Integer categoryId, BookSort sort) throws SQLException {
+        BookQuery query = new BookQuery();
+        query.setCategoryId(categoryId);
+        return find(query, sort);
+    }
+
+    /**
+     * Find books by read status.
+     */
+    public List<Book> findByReadStatus(boolean isRead) throws SQLException {
+        return findByReadStatus(isRead, BookSort.UNSORTED);
+    }
+
+    /**
+     * Find books by read status in the given order; by title when unsorted.
+     */
+    public List<Book> findByReadStatus(boolean isRead, BookSort sort) throws SQLException {
+        BookQuery query = new BookQuery();
+        query.setRead(isRead);
+        return find(query, sort);
     }
 
     /**
      * Delete book by ID.
      */
     public boolean delete(Integer id) throws SQLException {
-        Connection conn = database.getConnection();
-        try {
+        try (Connection conn = database.getWriteConnection()) {
             conn.setAutoCommit(false);
+            try {
+                // Delete book-author relationships first
+                String deleteRelSql = "DELETE FROM book_author WHERE bookId = ?";
+                try (PreparedStatement pstmt = conn.prepareStatement(deleteRelSql)) {
+                    pstmt.setInt(1, id);
+                    pstmt.executeUpdate();
+                }
 
-            // Delete book-author relationships first
-            String deleteRelSql = "DELETE FROM book_author WHERE bookId = ?";
-            try (PreparedStatement pstmt = conn.prepareStatement(deleteRelSql)) {
-                pstmt.setInt(1, id);
-                pstmt.executeUpdate();
+                // Delete book
+                String deleteSql = "DELETE FROM book WHERE id = ?";
+                try (PreparedStatement pstmt = conn.prepareStatement(deleteSql)) {
+                    pstmt.setInt(1, id);
+                    int affected = pstmt.executeUpdate();
+
+                    conn.commit();
+                    CACHE.remove(id);
+                    logger.debug("Deleted book with id: {}", id);
+                    return affected > 0;
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
+        }
+    }
 
-            // Delete book
-            String deleteSql = "DELETE FROM book WHERE id = ?";
-            try (PreparedStatement pstmt = conn.prepareStatement(deleteSql)) {
-                pstmt.setInt(1, id);
-                int affected = pstmt.executeUpdate();
+    /**
+     * Drop all cached books when an author or category they may embed changes.
+     */
+    private static void onLibraryEvent(LibraryEvent event) {
+        if (event.getEntity() != LibraryEvent.Entity.BOOK && event.getType() != LibraryEvent.Type.CREATED) {
+            CACHE.clear();
+        }
+    }
 
-                conn.commit();
-                logger.debug("Deleted book with id: {}", id);
-                return affected > 0;
-            }
-        } catch (SQLException e) {
-            conn.rollback();
-            throw e;
-        } finally {
-            conn.setAutoCommit(true);
+    /**
+     * Get the number of book lookups answered from the cache.
+     */
+    public long getCacheHits() {
+        return CACHE.getHits();
+    }
+
+    /**
+     * Get the number of book lookups that had to query the database.
+     */
+    public long getCacheMisses() {
+        return CACHE.getMisses();
+    }
+
+    /**
+     * Get the share of book lookups answered from the cache.
+     */
+    public double getCacheHitRatio() {
+        return CACHE.getHitRatio();
+    }
+
+    /**
+     * Load authors for a whole result set with batched queries instead of one query per book.
+     */
+    private void loadAuthors(List<Book> books) throws SQLException {
+        if (books.isEmpty()) {
+            return;
+        }
+
+        List<Integer> bookIds = new ArrayList<>(books.size());
+        for (Book book : books) {
+            bookIds.add(book.getId());
+        }
+
+        Map<Integer, List<Author>> authorsByBook = authorDao.findByBookIds(bookIds);
+        for (Book book : books) {
+            book.setAuthors(authorsByBook.getOrDefault(book.getId(), new ArrayList<>()));
+            book.markClean();
         }
     }
 
     /**
      * Map ResultSet to Book object.
      */
-    private Book mapResultSetToBook(ResultSet rs) throws SQLException {
+    Book mapResultSetToBook(ResultSet rs) throws SQLException {
         Book book = new Book();
         book.setId(rs.getInt("id"));
         book.setTitle(rs.getString("title"));
@@ -416,7 +1192,8 @@ public class BookDao {
      */
     public int count() throws SQLException {
         String sql = "SELECT COUNT(*) FROM book";
-        try (Statement stmt = database.getConnection().createStatement();
+        try (Connection conn = database.getReadConnection();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             if (rs.next()) {
                 return rs.getInt(1);
@@ -429,26 +1206,15 @@ public class BookDao {
      * Find books by borrowed status.
      */
     public List<Book> findByBorrowedStatus(boolean isBorrowed) throws SQLException {
-        List<Book> books = new ArrayList<>();
-        String sql = """
-            SELECT b.*, c.id as cat_id, c.name as cat_name
-            FROM book b
-            LEFT JOIN category c ON b.categoryId = c.id
-            WHERE b.isBorrowed = ?
-            ORDER BY b.borrowedDate DESC
-            """;
-
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
-            pstmt.setInt(1, isBorrowed ? 1 : 0);
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                Book book = mapResultSetToBook(rs);
-                book.setAuthors(authorDao.findByBookId(book.getId()));
-                books.add(book);
-            }
-        }
+        return findByBorrowedStatus(isBorrowed, BookSort.UNSORTED);
+    }
 
-        return books;
+    /**
+     * Find books by borrowed status in the given order; most recently borrowed first when unsorted.
+     */
+    public List<Book> findByBorrowedStatus(boolean isBorrowed, BookSort sort) throws SQLException {
+        BookQuery query = new BookQuery();
+        query.setBorrowed(isBorrowed);
+        return find(query, sort.orElse(BY_BORROWED_DATE));
     }
 }
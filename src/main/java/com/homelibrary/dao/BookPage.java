@@ -0,0 +1,69 @@
+package com.homelibrary.dao;
+
+import com.homelibrary.model.Book;
+
+import java.util.List;
+
+/**
+ * One page of books read with keyset pagination.
+ */
+public class BookPage {
+    private final List<Book> books;
+    private final Key lastKey;
+    private final int totalCount;
+
+    public BookPage(List<Book> books, Key lastKey, int totalCount) {
+        this.books = books;
+        this.lastKey = lastKey;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Get the books of this page in sort order.
+     */
+    public List<Book> getBooks() {
+        return books;
+    }
+
+    /**
+     * Get the key of the last book, to pass as the start of the following page.
+     * Null when the page is empty.
+     */
+    public Key getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * Get the total number of books across all pages.
+     * Only counted for the first page; -1 for later pages.
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Position of a book in the sort order: the values of its sort columns and its ID as tie-breaker.
+     */
+    public static class Key {
+        private final List<Object> sortValues;
+        private final int id;
+
+        public Key(List<Object> sortValues, int id) {
+            this.sortValues = sortValues;
+            this.id = id;
+        }
+
+        public List<Object> getSortValues() {
+            return sortValues;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" + sortValues + ", " + id + "}";
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.homelibrary.dao;
+
+/**
+ * Criteria for finding books. Every criterion is optional; unset (null) criteria
+ * do not constrain the result, and set criteria are combined with AND.
+ * The text is matched like a search, the tags by substring and the year range is inclusive.
+ */
+public class BookQuery {
+    private String text;
+    private Integer categoryId;
+    private Boolean read;
+    private Boolean borrowed;
+    private Integer yearFrom;
+    private Integer yearTo;
+    private Integer minRating;
+    private String format;
+    private String language;
+    private String tags;
+
+    public BookQuery() {
+    }
+
+    /**
+     * Copy constructor.
+     */
+    public BookQuery(BookQuery other) {
+        this.text = other.text;
+        this.categoryId = other.categoryId;
+        this.read = other.read;
+        this.borrowed = other.borrowed;
+        this.yearFrom = other.yearFrom;
+        this.yearTo = other.yearTo;
+        this.minRating = other.minRating;
+        this.format = other.format;
+        this.language = other.language;
+        this.tags = other.tags;
+    }
+
+    /**
+     * Check whether no criterion is set, so that the query matches every book.
+     */
+    public boolean isEmpty() {
+        return text == null && categoryId == null && read == null && borrowed == null &&
+               yearFrom == null && yearTo == null && minRating == null &&
+               format == null && language == null && tags == null;
+    }
+
+    /**
+     * Describe which criteria are set, so that queries of the same shape share compiled SQL.
+     */
+    String getShape() {
+        return (text == null ? "-" : (BookDao.isFullTextQuery(text) ? "T" : "t")) +
+               (categoryId == null ? "-" : "C") +
+               (read == null ? "-" : "R") +
+               (borrowed == null ? "-" : "B") +
+               (yearFrom == null ? "-" : "Y") +
+               (yearTo == null ? "-" : "y") +
+               (minRating == null ? "-" : "M") +
+               (format == null ? "-" : "F") +
+               (language == null ? "-" : "L") +
+               (tags == null ? "-" : "G");
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text != null && !text.isEmpty() ? text : null;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Boolean getRead() {
+        return read;
+    }
+
+    public void setRead(Boolean read) {
+        this.read = read;
+    }
+
+    public Boolean getBorrowed() {
+        return borrowed;
+    }
+
+    public void setBorrowed(Boolean borrowed) {
+        this.borrowed = borrowed;
+    }
+
+    public Integer getYearFrom() {
+        return yearFrom;
+    }
+
+    public void setYearFrom(Integer yearFrom) {
+        this.yearFrom = yearFrom;
+    }
+
+    public Integer getYearTo() {
+        return yearTo;
+    }
+
+    public void setYearTo(Integer yearTo) {
+        this.yearTo = yearTo;
+    }
+
+    public Integer getMinRating() {
+        return minRating;
+    }
+
+    public void setMinRating(Integer minRating) {
+        this.minRating = minRating;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getTags() {
+        return tags;
+    }
+
+    public void setTags(String tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,148 @@
+package com.homelibrary.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sort specification for book queries: an ordered list of columns, each ascending or descending.
+ * The book ID is always appended as a final tie-breaker so that the order is total.
+ */
+public class BookSort {
+    public static final BookSort UNSORTED = new BookSort(Collections.emptyList());
+    public static final BookSort BY_TITLE = new BookSort(List.of(new Key(Column.TITLE, true)));
+    public static final BookSort BY_ID = new BookSort(List.of(new Key(Column.ID, true)));
+
+    private final List<Key> keys;
+
+    private BookSort(List<Key> keys) {
+        this.keys = Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * Create a sort from keys in priority order.
+     */
+    public static BookSort of(List<Key> keys) {
+        return keys.isEmpty() ? UNSORTED : new BookSort(new ArrayList<>(keys));
+    }
+
+    public List<Key> getKeys() {
+        return keys;
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    /**
+     * Get this sort, or the given fallback when no columns are selected.
+     */
+    public BookSort orElse(BookSort fallback) {
+        return isEmpty() ? fallback : this;
+    }
+
+    /**
+     * Direction of the ID tie-breaker; it follows the last column so a single-column
+     * sort can be read straight from that column's index in either direction.
+     */
+    boolean isIdAscending() {
+        return keys.isEmpty() || keys.get(keys.size() - 1).isAscending();
+    }
+
+    /**
+     * Build the ORDER BY clause for this sort.
+     */
+    String toOrderBy() {
+        List<String> terms = new ArrayList<>();
+        for (Key key : keys) {
+            terms.add(key.getColumn().getExpression() + (key.isAscending() ? " ASC" : " DESC"));
+        }
+        terms.add("b.id" + (isIdAscending() ? " ASC" : " DESC"));
+        return "ORDER BY " + String.join(", ", terms);
+    }
+
+    /**
+     * Check whether any sort column is read from the category table.
+     */
+    boolean usesCategory() {
+        return keys.stream().anyMatch(key -> key.getColumn() == Column.CATEGORY);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return keys.equals(((BookSort) o).keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return keys.hashCode();
+    }
+
+    /**
+     * Sortable book columns and the SQL expressions they sort by.
+     */
+    public enum Column {
+        ID("b.id"),
+        TITLE("b.title"),
+        ISBN("COALESCE(b.isbn13, b.isbn10)"),
+        PUBLISHER("b.publisher"),
+        YEAR("b.yearPublished"),
+        CATEGORY("c.name"),
+        SHELF("b.shelfLocation"),
+        PHYSICAL_LOCATION("b.physicalLocation"),
+        BORROWED("b.isBorrowed"),
+        BORROWED_TO("b.borrowedTo"),
+        BORROWED_DATE("b.borrowedDate"),
+        TAGS("b.tags"),
+        FORMAT("b.format"),
+        READ("b.isRead"),
+        RATING("b.rating"),
+        DATE_ADDED("b.dateAdded");
+
+        private final String expression;
+
+        Column(String expression) {
+            this.expression = expression;
+        }
+
+        String getExpression() {
+            return expression;
+        }
+    }
+
+    /**
+     * One column of a sort with its direction.
+     */
+    public static class Key {
+        private final Column column;
+        private final boolean ascending;
+
+        public Key(Column column, boolean ascending) {
+            this.column = column;
+            this.ascending = ascending;
+        }
+
+        public Column getColumn() {
+            return column;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return ascending == key.ascending && column == key.column;
+        }
+
+        @Override
+        public int hashCode() {
+            return column.hashCode() * 31 + (ascending ? 1 : 0);
+        }
+    }
+}
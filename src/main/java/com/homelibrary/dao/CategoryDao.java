@@ -1,6 +1,9 @@
 package com.homelibrary.dao;
 
+import com.homelibrary.event.LibraryEvent;
+import com.homelibrary.event.LibraryEventBus;
 import com.homelibrary.model.Category;
+import com.homelibrary.service.ConfigService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,6 +17,10 @@ import java.util.Optional;
  */
 public class CategoryDao {
     private static final Logger logger = LoggerFactory.getLogger(CategoryDao.class);
+    // Shared by all instances; only committed rows are cached
+    private static final EntityCache<Category> CACHE = new EntityCache<>(
+        ConfigService.getInstance().getEntityCacheSize(),
+        Category::getId, Category::getName, category -> new Category(category.getId(), category.getName()));
     private final Database database;
 
     public CategoryDao() {
@@ -25,28 +32,33 @@ public class CategoryDao {
      */
     public Category save(Category category) throws SQLException {
         if (category.getId() == null) {
-            return insert(category);
+            return insert(category, false);
         } else {
             return update(category);
         }
     }
 
     /**
-     * Insert a new category.
+     * Insert a new category. When it was created for a name that was not found, it is also
+     * cached by that name.
      */
-    private Category insert(Category category) throws SQLException {
-        String sql = "INSERT INTO category (name) VALUES (?)";
+    private Category insert(Category category, boolean cacheName) throws SQLException {
+        String sql = "INSERT INTO category (name) VALUES (?) RETURNING id";
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, category.getName());
-            pstmt.executeUpdate();
-
-            // Get the last inserted ID using SQLite-specific query
-            try (Statement stmt = database.getConnection().createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) {
-                    category.setId(rs.getInt(1));
-                    logger.debug("Inserted category: {}", category);
+            category.setId(Database.executeInsert(pstmt));
+            logger.debug("Inserted category: {}", category);
+            publishAfterCommit(LibraryEvent.Type.CREATED, category.getId());
+
+            CACHE.remove(null);
+            // Inside a transaction the row may still be rolled back
+            if (conn.getAutoCommit()) {
+                if (cacheName) {
+                    CACHE.put(category);
+                } else {
+                    CACHE.putById(category);
                 }
             }
         }
@@ -60,11 +72,15 @@ public class CategoryDao {
     private Category update(Category category) throws SQLException {
         String sql = "UPDATE category SET name = ? WHERE id = ?";
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, category.getName());
             pstmt.setInt(2, category.getId());
             pstmt.executeUpdate();
             logger.debug("Updated category: {}", category);
+            publishAfterCommit(LibraryEvent.Type.UPDATED, category.getId());
+        } finally {
+            CACHE.remove(category.getId());
         }
 
         return category;
@@ -74,14 +90,25 @@ public class CategoryDao {
      * Find category by ID.
      */
     public Optional<Category> findById(Integer id) throws SQLException {
+        Optional<Category> cached = CACHE.getById(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long generation = CACHE.generation();
         String sql = "SELECT id, name FROM category WHERE id = ?";
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return Optional.of(mapResultSetToCategory(rs));
+                Category category = mapResultSetToCategory(rs);
+                if (conn.getAutoCommit()) {
+                    CACHE.putById(category, generation);
+                }
+                return Optional.of(category);
             }
         }
 
@@ -92,14 +119,25 @@ public class CategoryDao {
      * Find category by name.
      */
     public Optional<Category> findByName(String name) throws SQLException {
+        Optional<Category> cached = CACHE.getByName(name);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long generation = CACHE.generation();
         String sql = "SELECT id, name FROM category WHERE name = ?";
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, name);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return Optional.of(mapResultSetToCategory(rs));
+                Category category = mapResultSetToCategory(rs);
+                if (conn.getAutoCommit()) {
+                    CACHE.put(category, generation);
+                }
+                return Optional.of(category);
             }
         }
 
@@ -110,15 +148,26 @@ public class CategoryDao {
      * Find all categories.
      */
     public List<Category> findAll() throws SQLException {
+        List<Category> cached = CACHE.getAll();
+        if (cached != null) {
+            return cached;
+        }
+
         List<Category> categories = new ArrayList<>();
+        long generation = CACHE.generation();
         String sql = "SELECT id, name FROM category ORDER BY name";
 
-        try (Statement stmt = database.getConnection().createStatement();
+        try (Connection conn = database.getReadConnection();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
                 categories.add(mapResultSetToCategory(rs));
             }
+
+            if (conn.getAutoCommit()) {
+                CACHE.putAll(categories, generation);
+            }
         }
 
         logger.debug("Found {} categories", categories.size());
@@ -131,16 +180,33 @@ public class CategoryDao {
     public boolean delete(Integer id) throws SQLException {
         String sql = "DELETE FROM category WHERE id = ?";
 
-        try (PreparedStatement pstmt = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             int affected = pstmt.executeUpdate();
             logger.debug("Deleted category with id: {}", id);
+            if (affected > 0) {
+                publishAfterCommit(LibraryEvent.Type.DELETED, id);
+            }
             return affected > 0;
+        } finally {
+            CACHE.remove(id);
         }
     }
 
     /**
-     * Get or create category by name.
+     * Publish a category event once the change is committed, dropping cached rows first
+     * (see {@code AuthorDao.publishAfterCommit}).
+     */
+    private void publishAfterCommit(LibraryEvent.Type type, Integer id) throws SQLException {
+        database.afterCommit(() -> {
+            CACHE.remove(type == LibraryEvent.Type.CREATED ? null : id);
+            LibraryEventBus.getInstance().publish(LibraryEvent.of(LibraryEvent.Entity.CATEGORY, type, id));
+        });
+    }
+
+    /**
+     * Get or create category by name. Known names are resolved from the cache.
      */
     public Category getOrCreate(String name) throws SQLException {
         Optional<Category> existing = findByName(name);
@@ -149,7 +215,7 @@ public class CategoryDao {
         }
 
         Category category = new Category(name);
-        return insert(category);
+        return insert(category, true);
     }
 
     /**
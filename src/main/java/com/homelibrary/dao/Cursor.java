@@ -0,0 +1,18 @@
+package com.homelibrary.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Forward-only cursor over query results that holds one row in memory at a time.
+ * The cursor keeps its database connection until it is closed.
+ */
+public interface Cursor<T> extends AutoCloseable {
+
+    /**
+     * Get the next element, or null when the cursor is exhausted.
+     */
+    T next() throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+}
@@ -1,29 +1,127 @@
 package com.homelibrary.dao;
 
+import com.homelibrary.service.ConfigService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sqlite.SQLiteConfig;
 
 import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Manages SQLite database connection and initialization.
+ * Manages SQLite database connections and initialization.
+ *
+ * <p>The database runs in WAL mode with a single writer connection and a small pool of
+ * read-only connections, so reads from several threads can proceed while a write is in
+ * progress. DAOs obtain connections through {@link #getReadConnection()} and
+ * {@link #getWriteConnection()} and must close them (try-with-resources) to return them.</p>
  */
 public class Database {
     private static final Logger logger = LoggerFactory.getLogger(Database.class);
     private static final String DB_FILE = "homelibrary.db";
     private static final String DB_URL = "jdbc:sqlite:" + DB_FILE;
+    private static final long READER_WAIT_SECONDS = 30;
+
+    // Schema version recorded in PRAGMA user_version once migrations have run. Raise it
+    // when derived data such as the full-text index must be rebuilt for existing databases.
+    private static final int SCHEMA_VERSION = 1;
+    // Schema version in which the full-text index last changed; older databases are reindexed
+    private static final int FULL_TEXT_SEARCH_VERSION = 1;
+    // Schema version in which the statistics summary tables last changed
+    private static final int STATISTICS_VERSION = 1;
+
+    // Performance profile applied to every connection; busy_timeout comes first so it
+    // already covers the statements that follow it
+    private static final Map<String, String> DEFAULT_PRAGMAS = new LinkedHashMap<>();
+    static {
+        DEFAULT_PRAGMAS.put("busy_timeout", "5000");
+        DEFAULT_PRAGMAS.put("journal_mode", "WAL");
+        DEFAULT_PRAGMAS.put("synchronous", "NORMAL");
+        DEFAULT_PRAGMAS.put("cache_size", "-65536");
+        DEFAULT_PRAGMAS.put("mmap_size", "268435456");
+        DEFAULT_PRAGMAS.put("temp_store", "MEMORY");
+    }
+
+    // Library totals computed from the data, in the column order of library_stats
+    static final String STATISTICS_TOTALS_SQL = """
+        SELECT COUNT(*),
+               COALESCE(SUM(isRead IS 1), 0),
+               COALESCE(SUM(isRead IS 0), 0),
+               COALESCE(SUM(isBorrowed IS 1), 0),
+               (SELECT COUNT(*) FROM author),
+               (SELECT COUNT(*) FROM category)
+        FROM book
+        """;
+
+    // Breakdown dimensions: name, value expression and condition for a book row ($ is NEW or OLD)
+    private static final String[][] STATISTICS_DIMENSIONS = {
+        {"category", "CAST($.categoryId AS TEXT)", "$.categoryId IS NOT NULL"},
+        {"format", "$.format", "$.format IS NOT NULL AND $.format <> ''"},
+        {"language", "$.language", "$.language IS NOT NULL AND $.language <> ''"}
+    };
+
+    // Breakdown counts computed from the data, as (dimension, value, count) rows
+    private static final String STATISTICS_BREAKDOWN_SQL = """
+        SELECT 'category', CAST(categoryId AS TEXT), COUNT(*) FROM book
+        WHERE categoryId IS NOT NULL GROUP BY categoryId
+        UNION ALL
+        SELECT 'format', format, COUNT(*) FROM book
+        WHERE format IS NOT NULL AND format <> '' GROUP BY format
+        UNION ALL
+        SELECT 'language', language, COUNT(*) FROM book
+        WHERE language IS NOT NULL AND language <> '' GROUP BY language
+        """;
+
+    private static final String[] STATISTICS_TRIGGERS = {
+        "library_stats_book_insert", "library_stats_book_update", "library_stats_book_delete",
+        "library_stats_author_insert", "library_stats_author_delete",
+        "library_stats_category_insert", "library_stats_category_delete"
+    };
 
     private static Database instance;
     private Connection connection;
+    private Connection writerProxy;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final int readerCount;
+    private final Map<String, String> pragmas;
+    private final boolean statisticsMaterialized;
+    private final int statementCacheSize;
+    private StatementCache writerStatements;
+    // Actions waiting for the writer's transaction to commit; only used by the write lock holder
+    private final List<Runnable> commitActions = new ArrayList<>();
+    private final List<PooledReader> readers = new ArrayList<>();
+    // Bumped on every reconnect; readers of an older generation are closed instead of reused
+    private volatile int readerGeneration;
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final BlockingQueue<PooledReader> idleReaders = new LinkedBlockingQueue<>();
+    private final ThreadLocal<ReaderLease> currentReader = new ThreadLocal<>();
 
     private Database() {
         try {
             // Ensure SQLite JDBC driver is loaded
             Class.forName("org.sqlite.JDBC");
+            ConfigService config = ConfigService.getInstance();
+            this.readerCount = config.getDatabaseReaderCount();
+            this.pragmas = loadPragmas(config);
+            this.statisticsMaterialized = config.isStatisticsMaterialized();
+            this.statementCacheSize = config.getStatementCacheSize();
             connect();
             initializeSchema();
         } catch (ClassNotFoundException e) {
@@ -43,35 +141,308 @@ public class Database {
     }
 
     /**
-     * Establish database connection.
+     * Establish the writer connection and the pool of read-only connections.
+     * Holds the write lock, so no write is in progress while the writer is replaced.
+     * Idle readers of the previous pool are closed now and leased ones when they are returned.
      */
     private void connect() {
+        writeLock.lock();
         try {
+            closeWriter();
             connection = DriverManager.getConnection(DB_URL);
             connection.setAutoCommit(true);
-            logger.info("Connected to database: {}", DB_FILE);
+            applyPragmas(connection, true);
+            writerStatements = newStatementCache(connection);
+            writerProxy = leased(connection, writerStatements, writeLock::unlock, commitActions);
+
+            closeReaders();
+            SQLiteConfig readerConfig = new SQLiteConfig();
+            readerConfig.setReadOnly(true);
+            for (int i = 0; i < readerCount; i++) {
+                Connection reader = DriverManager.getConnection(DB_URL, readerConfig.toProperties());
+                applyPragmas(reader, false);
+                PooledReader pooled = new PooledReader(reader, newStatementCache(reader), readerGeneration);
+                readers.add(pooled);
+                idleReaders.add(pooled);
+            }
+
+            logger.info("Connected to database: {} (1 writer, {} readers)", DB_FILE, readerCount);
+            logEffectivePragmas();
         } catch (SQLException e) {
             logger.error("Failed to connect to database", e);
             throw new RuntimeException("Database connection failed", e);
+        } finally {
+            writeLock.unlock();
         }
     }
 
     /**
-     * Get active database connection.
+     * Apply the configured performance pragmas to a newly opened connection.
+     * The journal mode is a property of the database file, so only the writer sets it.
      */
-    public Connection getConnection() {
-        try {
-            // Check if connection is valid, reconnect if necessary
-            if (connection == null || connection.isClosed()) {
-                connect();
+    private void applyPragmas(Connection conn, boolean writer) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (Map.Entry<String, String> pragma : pragmas.entrySet()) {
+                if (!writer && "journal_mode".equals(pragma.getKey())) {
+                    continue;
+                }
+                stmt.execute("PRAGMA " + pragma.getKey() + " = " + pragma.getValue());
+            }
+            // Enable foreign key constraints
+            stmt.execute("PRAGMA foreign_keys = ON");
+        }
+    }
+
+    /**
+     * Log the pragma values SQLite actually uses, which may differ from the configured ones.
+     */
+    private void logEffectivePragmas() throws SQLException {
+        StringBuilder effective = new StringBuilder();
+        try (Statement stmt = connection.createStatement()) {
+            for (String name : pragmas.keySet()) {
+                try (ResultSet rs = stmt.executeQuery("PRAGMA " + name)) {
+                    if (effective.length() > 0) {
+                        effective.append(", ");
+                    }
+                    effective.append(name).append('=').append(rs.next() ? rs.getString(1) : "?");
+                }
+            }
+        }
+        logger.info("SQLite settings: {}", effective);
+
+        if (!"WAL".equalsIgnoreCase(pragmas.get("journal_mode"))) {
+            logger.warn("journal_mode is not WAL; readers will block while a write is in progress");
+        }
+    }
+
+    /**
+     * Read the performance pragmas from configuration, ignoring values that are not plain
+     * identifiers or numbers since they are spliced into PRAGMA statements.
+     */
+    private static Map<String, String> loadPragmas(ConfigService config) {
+        Map<String, String> pragmas = new LinkedHashMap<>();
+        for (Map.Entry<String, String> pragma : DEFAULT_PRAGMAS.entrySet()) {
+            String value = config.getDatabasePragma(pragma.getKey(), pragma.getValue()).trim();
+            if (!value.matches("-?[A-Za-z0-9_]+")) {
+                logger.warn("Ignoring invalid value for database.pragma.{}: {}", pragma.getKey(), value);
+                value = pragma.getValue();
             }
+            pragmas.put(pragma.getKey(), value);
+        }
+        return pragmas;
+    }
+
+    /**
+     * Get the raw writer connection, reconnecting if necessary. Intended for schema setup and
+     * maintenance; DAOs use {@link #getWriteConnection()} so that writers are serialized.
+     * A thread that holds the writer gets an error instead, as reconnecting would silently
+     * drop the work of its open transaction.
+     */
+    public Connection getConnection() throws SQLException {
+        boolean valid;
+        try {
+            valid = connection != null && !connection.isClosed();
         } catch (SQLException e) {
             logger.warn("Connection check failed, attempting to reconnect", e);
+            valid = false;
+        }
+
+        if (!valid) {
+            if (writeLock.isHeldByCurrentThread()) {
+                throw new SQLException("Database connection was lost while holding the writer");
+            }
             connect();
         }
         return connection;
     }
 
+    /**
+     * Borrow the writer connection. The calling thread holds the write lock until the returned
+     * connection is closed; nested calls on the same thread share the connection and its
+     * transaction.
+     */
+    public Connection getWriteConnection() throws SQLException {
+        getConnection();
+        writeLock.lock();
+        return writerProxy;
+    }
+
+    /**
+     * Borrow a read-only connection from the pool; closing it returns it to the pool.
+     * Nested calls on the same thread share one connection, and a thread that holds the
+     * writer reads through it so it sees its own uncommitted changes.
+     */
+    public Connection getReadConnection() throws SQLException {
+        if (writeLock.isHeldByCurrentThread()) {
+            return getWriteConnection();
+        }
+
+        ReaderLease lease = currentReader.get();
+        if (lease != null) {
+            lease.depth++;
+            return lease.proxy;
+        }
+
+        getConnection();
+        PooledReader reader;
+        try {
+            reader = idleReaders.poll(READER_WAIT_SECONDS, TimeUnit.SECONDS);
+            // A reader returned just as the pool was replaced belongs to the old pool
+            while (reader != null && reader.generation != readerGeneration) {
+                reader.close();
+                reader = idleReaders.poll(READER_WAIT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection", e);
+        }
+        if (reader == null) {
+            throw new SQLException("Timed out waiting for a read connection");
+        }
+
+        PooledReader leasedReader = reader;
+        ReaderLease newLease = new ReaderLease();
+        newLease.proxy = leased(reader.connection, reader.statements, () -> {
+            if (--newLease.depth == 0) {
+                currentReader.remove();
+                releaseReader(leasedReader);
+            }
+        }, null);
+        currentReader.set(newLease);
+        return newLease.proxy;
+    }
+
+    /**
+     * Return a reader to the pool, or close it if the pool was replaced while it was leased.
+     */
+    private void releaseReader(PooledReader reader) {
+        if (reader.generation == readerGeneration) {
+            idleReaders.offer(reader);
+        } else {
+            reader.close();
+        }
+    }
+
+    /**
+     * Run an action once the changes made on the writer are committed: right away in
+     * auto-commit mode, otherwise when the current transaction commits. The action is
+     * dropped if the transaction is rolled back. Called while holding the writer.
+     */
+    void afterCommit(Runnable action) throws SQLException {
+        if (connection.getAutoCommit()) {
+            action.run();
+        } else {
+            commitActions.add(action);
+        }
+    }
+
+    /**
+     * Wrap a pooled connection so that close() runs the given release action
+     * instead of closing the underlying connection, and prepareStatement(String)
+     * goes through the connection's statement cache. For the writer, the given
+     * commit actions run when its transaction commits and are dropped on rollback.
+     */
+    private static Connection leased(Connection target, StatementCache statements, Runnable release,
+                                     List<Runnable> commitActions) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                    release.run();
+                    return null;
+                }
+                if (statements != null && "prepareStatement".equals(method.getName())
+                        && method.getParameterCount() == 1) {
+                    return statements.prepare((String) args[0]);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (commitActions != null) {
+                    endTransaction(commitActions, method.getName(), args);
+                }
+                return result;
+            });
+    }
+
+    /**
+     * Run or drop the commit actions after a call on the writer that ended its transaction.
+     * Turning auto-commit back on commits a transaction that is still open.
+     */
+    private static void endTransaction(List<Runnable> commitActions, String methodName, Object[] args) {
+        boolean committed = "commit".equals(methodName)
+            || ("setAutoCommit".equals(methodName) && Boolean.TRUE.equals(args[0]));
+        if ("rollback".equals(methodName) && args == null) {
+            commitActions.clear();
+        } else if (committed && !commitActions.isEmpty()) {
+            List<Runnable> actions = new ArrayList<>(commitActions);
+            commitActions.clear();
+            actions.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Create the statement cache for a connection, or none when caching is disabled.
+     */
+    private StatementCache newStatementCache(Connection conn) {
+        if (statementCacheSize == 0) {
+            return null;
+        }
+        return new StatementCache(conn, statementCacheSize, statementCacheHits, statementCacheMisses);
+    }
+
+    /**
+     * Get the number of prepared statements served from the statement caches.
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    /**
+     * Get the number of statements that had to be prepared because they were not cached.
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    /**
+     * Per-thread state of a borrowed read connection.
+     */
+    private static final class ReaderLease {
+        private Connection proxy;
+        private int depth = 1;
+    }
+
+    /**
+     * A pooled read-only connection, its statement cache and the pool generation it belongs to.
+     */
+    private static final class PooledReader {
+        private final Connection connection;
+        private final StatementCache statements;
+        private final int generation;
+
+        PooledReader(Connection connection, StatementCache statements, int generation) {
+            this.connection = connection;
+            this.statements = statements;
+            this.generation = generation;
+        }
+
+        void close() {
+            if (statements != null) {
+                statements.close();
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.error("Error closing read connection", e);
+            }
+        }
+    }
+
     /**
      * Initialize database schema if tables don't exist.
      */
@@ -137,17 +508,26 @@ public class Database {
 
             // Indexes for better query performance
             "CREATE INDEX IF NOT EXISTS idx_book_title ON book(title)",
+            // Case-insensitive title lookups for the import duplicate check
+            "CREATE INDEX IF NOT EXISTS idx_book_title_nocase ON book(title COLLATE NOCASE)",
             "CREATE INDEX IF NOT EXISTS idx_book_isbn10 ON book(isbn10)",
             "CREATE INDEX IF NOT EXISTS idx_book_isbn13 ON book(isbn13)",
+            "CREATE INDEX IF NOT EXISTS idx_book_category ON book(categoryId)",
+            // Commonly sorted columns
+            "CREATE INDEX IF NOT EXISTS idx_book_year ON book(yearPublished)",
+            "CREATE INDEX IF NOT EXISTS idx_book_date_added ON book(dateAdded)",
+            "CREATE INDEX IF NOT EXISTS idx_book_rating ON book(rating)",
+            "CREATE INDEX IF NOT EXISTS idx_book_publisher ON book(publisher)",
+            // Narrow covering indexes for the statistics aggregates
+            "CREATE INDEX IF NOT EXISTS idx_book_status ON book(isRead, isBorrowed)",
+            "CREATE INDEX IF NOT EXISTS idx_book_format ON book(format)",
+            "CREATE INDEX IF NOT EXISTS idx_book_language ON book(language)",
             "CREATE INDEX IF NOT EXISTS idx_author_name ON author(name)",
             "CREATE INDEX IF NOT EXISTS idx_book_author_book ON book_author(bookId)",
             "CREATE INDEX IF NOT EXISTS idx_book_author_author ON book_author(authorId)"
         };
 
         try (Statement stmt = getConnection().createStatement()) {
-            // Enable foreign key constraints
-            stmt.execute("PRAGMA foreign_keys = ON");
-
             // Execute each schema statement
             for (String sql : schemaSql) {
                 stmt.execute(sql);
@@ -170,6 +550,11 @@ public class Database {
         logger.info("Running database migrations");
 
         try (Statement stmt = getConnection().createStatement()) {
+            int schemaVersion;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                schemaVersion = rs.next() ? rs.getInt(1) : 0;
+            }
+
             // Migration: Add physicalLocation, isBorrowed, borrowedTo, borrowedDate columns
             String[] migrations = {
                 "ALTER TABLE book ADD COLUMN physicalLocation TEXT",
@@ -190,6 +575,14 @@ public class Database {
                 }
             }
 
+            initializeFullTextSearch(stmt, schemaVersion);
+            initializeStatistics(stmt, schemaVersion);
+
+            if (schemaVersion != SCHEMA_VERSION) {
+                stmt.execute("PRAGMA user_version = " + SCHEMA_VERSION);
+                logger.info("Schema version changed from {} to {}", schemaVersion, SCHEMA_VERSION);
+            }
+
             logger.info("Database migrations completed successfully");
         } catch (SQLException e) {
             logger.error("Failed to run migrations", e);
@@ -198,17 +591,337 @@ public class Database {
     }
 
     /**
-     * Close database connection.
+     * Create the full-text index and the triggers that keep it in sync. The index is filled
+     * from the books when it is first created or was built by an older schema version.
+     */
+    private void initializeFullTextSearch(Statement stmt, int schemaVersion) throws SQLException {
+        boolean created = !tableExists(stmt, "book_fts");
+        // The trigram tokenizer keeps the substring semantics of the former LIKE search
+        stmt.execute("""
+            CREATE VIRTUAL TABLE IF NOT EXISTS book_fts USING fts5(
+                title, subtitle, isbn10, isbn13, publisher, tags,
+                physicalLocation, borrowedTo, category, authors,
+                tokenize = 'trigram'
+            )
+            """);
+
+        String[] triggers = {
+            """
+            CREATE TRIGGER IF NOT EXISTS book_fts_after_insert AFTER INSERT ON book BEGIN
+            """ + reindexFullTextSql("NEW.id") + """
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS book_fts_after_update AFTER UPDATE ON book BEGIN
+                DELETE FROM book_fts WHERE rowid = OLD.id;
+            """ + reindexFullTextSql("NEW.id") + """
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS book_fts_after_delete AFTER DELETE ON book BEGIN
+                DELETE FROM book_fts WHERE rowid = OLD.id;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS book_author_fts_after_insert AFTER INSERT ON book_author BEGIN
+            """ + reindexFullTextSql("NEW.bookId") + """
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS book_author_fts_after_delete AFTER DELETE ON book_author BEGIN
+            """ + reindexFullTextSql("OLD.bookId") + """
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS author_fts_after_update AFTER UPDATE OF name ON author BEGIN
+            """ + reindexFullTextSql("SELECT bookId FROM book_author WHERE authorId = NEW.id") + """
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS category_fts_after_update AFTER UPDATE OF name ON category BEGIN
+            """ + reindexFullTextSql("SELECT id FROM book WHERE categoryId = NEW.id") + """
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS category_fts_after_delete AFTER DELETE ON category BEGIN
+            """ + reindexFullTextSql("SELECT id FROM book WHERE categoryId = OLD.id") + """
+            END
+            """
+        };
+
+        for (String trigger : triggers) {
+            stmt.execute(trigger);
+        }
+
+        if (created || schemaVersion < FULL_TEXT_SEARCH_VERSION) {
+            logger.info("Rebuilding full-text index");
+            stmt.execute("DELETE FROM book_fts");
+            stmt.execute(fullTextInsertSql(""));
+        }
+    }
+
+    /**
+     * Check whether a table exists in the main schema.
+     */
+    private static boolean tableExists(Statement stmt, String name) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = '" + name + "'")) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Build the trigger statements that (re)index the books selected by the given id
+     * expression, which is either a single value such as NEW.id or a subquery of book ids.
+     */
+    private static String reindexFullTextSql(String bookIds) {
+        String condition = bookIds.startsWith("SELECT") ? "IN (" + bookIds + ")" : "= " + bookIds;
+        return "DELETE FROM book_fts WHERE rowid " + condition + ";\n"
+                + fullTextInsertSql("WHERE b.id " + condition) + ";\n";
+    }
+
+    /**
+     * Build the INSERT that copies the searchable fields of the selected books into book_fts.
+     */
+    private static String fullTextInsertSql(String whereClause) {
+        return """
+            INSERT INTO book_fts (rowid, title, subtitle, isbn10, isbn13, publisher, tags,
+                                  physicalLocation, borrowedTo, category, authors)
+            SELECT b.id, b.title, b.subtitle, b.isbn10, b.isbn13, b.publisher, b.tags,
+                   b.physicalLocation, b.borrowedTo, c.name,
+                   (SELECT group_concat(a.name, ', ')
+                    FROM book_author ba
+                    INNER JOIN author a ON a.id = ba.authorId
+                    WHERE ba.bookId = b.id)
+            FROM book b
+            LEFT JOIN category c ON b.categoryId = c.id
+            """ + whereClause;
+    }
+
+    /**
+     * Create the summary tables and triggers that keep library statistics up to date, and
+     * fill them when they are first created or were built by an older schema version.
+     * Drift is not checked here, since that reads every book; "Rebuild Statistics" does it.
+     * When materialized statistics are disabled the triggers and tables are dropped so
+     * writes do not maintain them.
+     */
+    private void initializeStatistics(Statement stmt, int schemaVersion) throws SQLException {
+        if (!statisticsMaterialized) {
+            for (String trigger : STATISTICS_TRIGGERS) {
+                stmt.execute("DROP TRIGGER IF EXISTS " + trigger);
+            }
+            stmt.execute("DROP TABLE IF EXISTS library_stats");
+            stmt.execute("DROP TABLE IF EXISTS library_stats_breakdown");
+            return;
+        }
+
+        boolean created = !tableExists(stmt, "library_stats") || !tableExists(stmt, "library_stats_breakdown");
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS library_stats (
+                id INTEGER PRIMARY KEY CHECK (id = 1),
+                totalBooks INTEGER NOT NULL,
+                readBooks INTEGER NOT NULL,
+                unreadBooks INTEGER NOT NULL,
+                borrowedBooks INTEGER NOT NULL,
+                totalAuthors INTEGER NOT NULL,
+                totalCategories INTEGER NOT NULL
+            )
+            """);
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS library_stats_breakdown (
+                dimension TEXT NOT NULL,
+                value TEXT NOT NULL,
+                count INTEGER NOT NULL,
+                PRIMARY KEY (dimension, value)
+            ) WITHOUT ROWID
+            """);
+
+        String[] triggers = {
+            """
+            CREATE TRIGGER IF NOT EXISTS library_stats_book_insert AFTER INSERT ON book BEGIN
+                UPDATE library_stats SET
+                    totalBooks = totalBooks + 1,
+                    readBooks = readBooks + (NEW.isRead IS 1),
+                    unreadBooks = unreadBooks + (NEW.isRead IS 0),
+                    borrowedBooks = borrowedBooks + (NEW.isBorrowed IS 1);
+            """ + countBreakdownsSql("NEW", 1) + """
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS library_stats_book_update
+            AFTER UPDATE OF isRead, isBorrowed, categoryId, format, language ON book BEGIN
+                UPDATE library_stats SET
+                    readBooks = readBooks + (NEW.isRead IS 1) - (OLD.isRead IS 1),
+                    unreadBooks = unreadBooks + (NEW.isRead IS 0) - (OLD.isRead IS 0),
+                    borrowedBooks = borrowedBooks + (NEW.isBorrowed IS 1) - (OLD.isBorrowed IS 1);
+            """ + countBreakdownsSql("OLD", -1) + countBreakdownsSql("NEW", 1) + """
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS library_stats_book_delete AFTER DELETE ON book BEGIN
+                UPDATE library_stats SET
+                    totalBooks = totalBooks - 1,
+                    readBooks = readBooks - (OLD.isRead IS 1),
+                    unreadBooks = unreadBooks - (OLD.isRead IS 0),
+                    borrowedBooks = borrowedBooks - (OLD.isBorrowed IS 1);
+            """ + countBreakdownsSql("OLD", -1) + """
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS library_stats_author_insert AFTER INSERT ON author BEGIN
+                UPDATE library_stats SET totalAuthors = totalAuthors + 1;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS library_stats_author_delete AFTER DELETE ON author BEGIN
+                UPDATE library_stats SET totalAuthors = totalAuthors - 1;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS library_stats_category_insert AFTER INSERT ON category BEGIN
+                UPDATE library_stats SET totalCategories = totalCategories + 1;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS library_stats_category_delete AFTER DELETE ON category BEGIN
+                UPDATE library_stats SET totalCategories = totalCategories - 1;
+            END
+            """
+        };
+
+        for (String trigger : triggers) {
+            stmt.execute(trigger);
+        }
+
+        if (created || schemaVersion < STATISTICS_VERSION) {
+            logger.info("Rebuilding library statistics");
+            rebuildStatistics(stmt);
+        }
+    }
+
+    /**
+     * Build the trigger statements that add a book row (NEW or OLD) to the breakdown
+     * counts, or remove it when the delta is negative.
+     */
+    private static String countBreakdownsSql(String row, int delta) {
+        StringBuilder sql = new StringBuilder();
+        for (String[] dimension : STATISTICS_DIMENSIONS) {
+            String value = dimension[1].replace("$", row);
+            String condition = dimension[2].replace("$", row);
+            if (delta > 0) {
+                sql.append("""
+                    INSERT INTO library_stats_breakdown (dimension, value, count)
+                    SELECT '%s', %s, 1 WHERE %s
+                    ON CONFLICT (dimension, value) DO UPDATE SET count = count + 1;
+                    """.formatted(dimension[0], value, condition));
+            } else {
+                sql.append("""
+                    UPDATE library_stats_breakdown SET count = count - 1
+                    WHERE dimension = '%1$s' AND value = %2$s;
+                    DELETE FROM library_stats_breakdown
+                    WHERE dimension = '%1$s' AND value = %2$s AND count <= 0;
+                    """.formatted(dimension[0], value));
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Check whether the summary tables match the statistics computed from the data.
+     */
+    static boolean isStatisticsConsistent(Statement stmt) throws SQLException {
+        String stored = "SELECT totalBooks, readBooks, unreadBooks, borrowedBooks, totalAuthors, totalCategories "
+                + "FROM library_stats WHERE id = 1";
+        String storedBreakdown = "SELECT dimension, value, count FROM library_stats_breakdown";
+        String computedBreakdown = "SELECT * FROM (" + STATISTICS_BREAKDOWN_SQL + ")";
+        String sql = """
+            SELECT (SELECT COUNT(*) FROM (%1$s EXCEPT %2$s))
+                 + (SELECT COUNT(*) FROM (%2$s EXCEPT %1$s))
+                 + (SELECT COUNT(*) FROM (%3$s EXCEPT %4$s))
+                 + (SELECT COUNT(*) FROM (%4$s EXCEPT %3$s))
+            """.formatted(stored, STATISTICS_TOTALS_SQL, storedBreakdown, computedBreakdown);
+
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() && rs.getInt(1) == 0;
+        }
+    }
+
+    /**
+     * Recompute the summary tables from the data.
+     */
+    static void rebuildStatistics(Statement stmt) throws SQLException {
+        stmt.execute("DELETE FROM library_stats");
+        stmt.execute("INSERT INTO library_stats (id, totalBooks, readBooks, unreadBooks, borrowedBooks, "
+                + "totalAuthors, totalCategories) SELECT 1, * FROM (" + STATISTICS_TOTALS_SQL + ")");
+        stmt.execute("DELETE FROM library_stats_breakdown");
+        stmt.execute("INSERT INTO library_stats_breakdown (dimension, value, count) " + STATISTICS_BREAKDOWN_SQL);
+    }
+
+    /**
+     * Execute an INSERT ... RETURNING id statement and return the new id.
+     * The result set is closed right away so the statement is reset before the
+     * next execution or commit.
+     */
+    static int executeInsert(PreparedStatement pstmt) throws SQLException {
+        try (ResultSet rs = pstmt.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("Insert returned no id");
+            }
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Check whether library statistics are kept in the trigger-maintained summary tables.
+     */
+    public boolean isStatisticsMaterialized() {
+        return statisticsMaterialized;
+    }
+
+    /**
+     * Close the writer and all pooled reader connections.
+     */
+    public synchronized void close() {
+        readerGeneration++;
+        for (PooledReader reader : readers) {
+            reader.close();
+        }
+        readers.clear();
+        idleReaders.clear();
+        closeWriter();
+        logger.info("Database connection closed");
+    }
+
+    /**
+     * Close the writer connection and its statements, if open.
      */
-    public void close() {
+    private void closeWriter() {
+        commitActions.clear();
+        if (writerStatements != null) {
+            writerStatements.close();
+            writerStatements = null;
+        }
         if (connection != null) {
             try {
                 connection.close();
-                logger.info("Database connection closed");
             } catch (SQLException e) {
                 logger.error("Error closing database connection", e);
             }
+            connection = null;
+        }
+    }
+
+    /**
+     * Retire the current reader pool: idle readers are closed now, readers still leased
+     * are closed when they are returned.
+     */
+    private void closeReaders() {
+        readerGeneration++;
+        PooledReader idle;
+        while ((idle = idleReaders.poll()) != null) {
+            idle.close();
         }
+        readers.clear();
     }
 
     /**
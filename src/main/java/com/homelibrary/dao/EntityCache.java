@@ -0,0 +1,147 @@
+package com.homelibrary.dao;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded, thread-safe read-through cache of named entities by id and by name, shared by
+ * all instances of a DAO. Entities are copied in and out so callers cannot change cached
+ * state. The DAO that owns the cache updates or invalidates it on every write.
+ * Entities read from the database are cached only if nothing was invalidated while they
+ * were read, so a read that raced a write cannot cache the row as it was before the write.
+ */
+final class EntityCache<T> {
+    private final Function<T, Integer> idOf;
+    private final Function<T, String> nameOf;
+    private final UnaryOperator<T> copy;
+    private final Map<Integer, T> byId;
+    private final Map<String, T> byName;
+    private final int capacity;
+    private List<T> all;
+    // Bumped on every invalidation
+    private long generation;
+
+    EntityCache(int capacity, Function<T, Integer> idOf, Function<T, String> nameOf, UnaryOperator<T> copy) {
+        this.capacity = capacity;
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+        this.copy = copy;
+        this.byId = lruMap(capacity);
+        this.byName = lruMap(capacity);
+    }
+
+    private static <K, V> Map<K, V> lruMap(int capacity) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized Optional<T> getById(Integer id) {
+        return Optional.ofNullable(byId.get(id)).map(copy);
+    }
+
+    synchronized Optional<T> getByName(String name) {
+        return Optional.ofNullable(byName.get(name)).map(copy);
+    }
+
+    /**
+     * Get all entities in the order they were loaded, or null when they are not cached.
+     */
+    synchronized List<T> getAll() {
+        return all == null ? null : copyAll(all);
+    }
+
+    /**
+     * Get the current invalidation generation; take it before reading from the database and
+     * pass it to the put of what was read.
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Cache an entity found by name, unless the cache was invalidated since the given
+     * generation was taken.
+     */
+    synchronized void put(T entity, long readGeneration) {
+        if (readGeneration == generation) {
+            put(entity);
+        }
+    }
+
+    /**
+     * Cache an entity found by name. When several entities share a name, the first one
+     * cached for it stays, matching the database lookup that found it.
+     */
+    synchronized void put(T entity) {
+        T cached = copy.apply(entity);
+        byId.put(idOf.apply(cached), cached);
+        byName.putIfAbsent(nameOf.apply(cached), cached);
+    }
+
+    /**
+     * Cache an entity found by id only, unless the cache was invalidated since the given
+     * generation was taken.
+     */
+    synchronized void putById(T entity, long readGeneration) {
+        if (readGeneration == generation) {
+            putById(entity);
+        }
+    }
+
+    /**
+     * Cache an entity found by id only.
+     */
+    synchronized void putById(T entity) {
+        byId.put(idOf.apply(entity), copy.apply(entity));
+    }
+
+    /**
+     * Cache the full list of entities, unless the cache was invalidated since the given
+     * generation was taken; lists larger than the cache are not kept.
+     */
+    synchronized void putAll(List<T> entities, long readGeneration) {
+        if (readGeneration != generation || entities.size() > capacity) {
+            return;
+        }
+        all = copyAll(entities);
+        for (T entity : all) {
+            byId.put(idOf.apply(entity), entity);
+        }
+    }
+
+    /**
+     * Forget an entity and the full list after it was inserted, changed or deleted.
+     */
+    synchronized void remove(Integer id) {
+        generation++;
+        all = null;
+        if (id == null) {
+            return;
+        }
+        byId.remove(id);
+        Iterator<T> names = byName.values().iterator();
+        while (names.hasNext()) {
+            if (id.equals(idOf.apply(names.next()))) {
+                names.remove();
+            }
+        }
+    }
+
+    private List<T> copyAll(List<T> entities) {
+        List<T> copies = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            copies.add(copy.apply(entity));
+        }
+        return copies;
+    }
+}
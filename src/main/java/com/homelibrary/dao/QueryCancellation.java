@@ -0,0 +1,58 @@
+package com.homelibrary.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Handle for cancelling a running query from another thread.
+ * The DAO registers each statement while it executes; cancel() interrupts the
+ * registered statement and makes any later statement fail before it runs.
+ */
+public class QueryCancellation {
+    private static final Logger logger = LoggerFactory.getLogger(QueryCancellation.class);
+
+    private Statement statement;
+    private boolean cancelled;
+
+    /**
+     * Cancel the running statement, if any.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        if (statement != null) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                logger.warn("Failed to cancel statement", e);
+            }
+        }
+    }
+
+    /**
+     * Check whether cancel() has been called.
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Register the statement about to execute.
+     */
+    synchronized void register(Statement statement) throws SQLException {
+        if (cancelled) {
+            throw new SQLException("Query cancelled");
+        }
+        this.statement = statement;
+    }
+
+    /**
+     * Unregister the statement once it has finished, so that a late cancel()
+     * cannot interrupt other work on the same connection.
+     */
+    synchronized void unregister() {
+        this.statement = null;
+    }
+}
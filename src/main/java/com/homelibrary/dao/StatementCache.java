@@ -0,0 +1,174 @@
+package com.homelibrary.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of prepared statements for one connection, keyed by SQL text.
+ * A connection is only used by one thread at a time (the writer lock or a reader lease),
+ * so the cache itself is not synchronized. Closing a statement obtained from the cache
+ * resets it and returns it to the cache instead of finalizing it, so SQLite parses and
+ * plans each statement once per connection.
+ */
+final class StatementCache {
+    private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+
+    private final Connection connection;
+    private final Map<String, CachedStatement> statements;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    StatementCache(Connection connection, int capacity, LongAdder hits, LongAdder misses) {
+        this.connection = connection;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() > capacity) {
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a prepared statement for the SQL, reusing the cached one when it is not in use.
+     * A statement that is still open higher up the call stack on this connection (for example
+     * an open cursor) is never shared; a separate, uncached statement is prepared instead.
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        CachedStatement cached = statements.get(sql);
+        if (cached != null && cached.evicted) {
+            statements.remove(sql);
+            cached = null;
+        }
+        if (cached != null && !cached.inUse) {
+            hits.increment();
+            return cached.lease();
+        }
+
+        misses.increment();
+        PreparedStatement statement = connection.prepareStatement(sql);
+        if (cached != null) {
+            return statement;
+        }
+
+        cached = new CachedStatement(statement);
+        statements.put(sql, cached);
+        return cached.lease();
+    }
+
+    /**
+     * Close all cached statements.
+     */
+    void close() {
+        for (CachedStatement cached : statements.values()) {
+            cached.evict();
+        }
+        statements.clear();
+    }
+
+    /**
+     * A cached statement and its lease state.
+     */
+    private static final class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+        private ResultSet resultSet;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        /**
+         * Hand out the statement wrapped so that close() returns it to the cache.
+         */
+        PreparedStatement lease() {
+            inUse = true;
+            boolean[] closed = {false};
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!closed[0]) {
+                                closed[0] = true;
+                                release();
+                            }
+                            return null;
+                        case "isClosed":
+                            return closed[0] || statement.isClosed();
+                        default:
+                            break;
+                    }
+                    if (closed[0]) {
+                        throw new SQLException("Statement is closed");
+                    }
+                    try {
+                        Object result = method.invoke(statement, args);
+                        if (result instanceof ResultSet rs) {
+                            resultSet = rs;
+                        }
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        }
+
+        /**
+         * Reset the statement so it holds no cursor or bindings, ready for the next lease.
+         * Closing the last result set resets the underlying SQLite statement.
+         */
+        private void release() throws SQLException {
+            inUse = false;
+            if (evicted) {
+                statement.close();
+                return;
+            }
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                // A statement that cannot be reset is not reused
+                evicted = true;
+                statement.close();
+                throw e;
+            } finally {
+                resultSet = null;
+            }
+        }
+
+        /**
+         * Remove the statement from the cache; it is closed now, or on release when in use.
+         */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    logger.warn("Failed to close cached statement", e);
+                }
+            }
+        }
+    }
+}
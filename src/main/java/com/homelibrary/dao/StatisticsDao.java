@@ -0,0 +1,196 @@
+package com.homelibrary.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Data Access Object for library statistics.
+ * Counts are read from the trigger-maintained summary tables when statistics are materialized,
+ * and computed with aggregate queries otherwise; either way no book rows are loaded.
+ */
+public class StatisticsDao {
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsDao.class);
+    private final Database database;
+
+    public StatisticsDao() {
+        this.database = Database.getInstance();
+    }
+
+    /**
+     * Count books by status, authors and categories. With materialized statistics this reads
+     * a single summary row; otherwise it runs one aggregate query over the books.
+     */
+    public Totals findTotals() throws SQLException {
+        String sql = database.isStatisticsMaterialized()
+            ? """
+              SELECT totalBooks, readBooks, unreadBooks, borrowedBooks, totalAuthors, totalCategories
+              FROM library_stats WHERE id = 1
+              """
+            : Database.STATISTICS_TOTALS_SQL;
+
+        Totals totals = new Totals();
+        try (Connection conn = database.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                totals.books = rs.getInt(1);
+                totals.readBooks = rs.getInt(2);
+                totals.unreadBooks = rs.getInt(3);
+                totals.borrowedBooks = rs.getInt(4);
+                totals.authors = rs.getInt(5);
+                totals.categories = rs.getInt(6);
+            }
+        }
+
+        logger.debug("Counted {} books", totals.books);
+        return totals;
+    }
+
+    /**
+     * Count books per category name, largest first. Books without a category are not counted.
+     */
+    public Map<String, Integer> countBooksByCategory() throws SQLException {
+        if (database.isStatisticsMaterialized()) {
+            return countGroups("""
+                SELECT c.name, s.count
+                FROM library_stats_breakdown s
+                INNER JOIN category c ON c.id = CAST(s.value AS INTEGER)
+                WHERE s.dimension = 'category'
+                ORDER BY s.count DESC, c.name
+                """);
+        }
+        return countGroups("""
+            SELECT c.name, COUNT(*)
+            FROM book b
+            INNER JOIN category c ON b.categoryId = c.id
+            GROUP BY c.id
+            ORDER BY COUNT(*) DESC, c.name
+            """);
+    }
+
+    /**
+     * Count books per format, largest first. Books without a format are not counted.
+     */
+    public Map<String, Integer> countBooksByFormat() throws SQLException {
+        if (database.isStatisticsMaterialized()) {
+            return countStoredGroups("format");
+        }
+        return countGroups("""
+            SELECT format, COUNT(*)
+            FROM book
+            WHERE format IS NOT NULL AND format <> ''
+            GROUP BY format
+            ORDER BY COUNT(*) DESC, format
+            """);
+    }
+
+    /**
+     * Count books per language, largest first. Books without a language are not counted.
+     */
+    public Map<String, Integer> countBooksByLanguage() throws SQLException {
+        if (database.isStatisticsMaterialized()) {
+            return countStoredGroups("language");
+        }
+        return countGroups("""
+            SELECT language, COUNT(*)
+            FROM book
+            WHERE language IS NOT NULL AND language <> ''
+            GROUP BY language
+            ORDER BY COUNT(*) DESC, language
+            """);
+    }
+
+    /**
+     * Check whether the materialized statistics match the data.
+     * Always true when statistics are not materialized.
+     */
+    public boolean isConsistent() throws SQLException {
+        if (!database.isStatisticsMaterialized()) {
+            return true;
+        }
+        try (Connection conn = database.getReadConnection();
+             Statement stmt = conn.createStatement()) {
+            return Database.isStatisticsConsistent(stmt);
+        }
+    }
+
+    /**
+     * Recompute the materialized statistics from the data in one transaction.
+     * Does nothing when statistics are not materialized.
+     */
+    public void rebuild() throws SQLException {
+        if (!database.isStatisticsMaterialized()) {
+            return;
+        }
+        try (Connection conn = database.getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            try {
+                Database.rebuildStatistics(stmt);
+                conn.commit();
+                logger.info("Rebuilt library statistics");
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Read the stored counts of one breakdown dimension, largest first.
+     */
+    private Map<String, Integer> countStoredGroups(String dimension) throws SQLException {
+        String sql = """
+            SELECT value, count FROM library_stats_breakdown
+            WHERE dimension = ?
+            ORDER BY count DESC, value
+            """;
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        try (Connection conn = database.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, dimension);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                counts.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Run a grouping query returning (name, count) rows into an ordered map.
+     */
+    private Map<String, Integer> countGroups(String sql) throws SQLException {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        try (Connection conn = database.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                counts.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Library-wide counts.
+     */
+    public static class Totals {
+        public int books;
+        public int readBooks;
+        public int unreadBooks;
+        public int borrowedBooks;
+        public int authors;
+        public int categories;
+    }
+}
@@ -0,0 +1,132 @@
+package com.homelibrary.event;
+
+import com.homelibrary.model.Book;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Notification that books, authors or categories were created, updated or deleted,
+ * or that books were bulk-imported. Created and updated book events carry the saved
+ * books, so subscribers can show them without reading them back.
+ */
+public class LibraryEvent {
+    public enum Entity {
+        BOOK,
+        AUTHOR,
+        CATEGORY
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        BULK_IMPORTED
+    }
+
+    private final Entity entity;
+    private final Type type;
+    private final List<Integer> ids;
+    private final List<Book> books;
+
+    private LibraryEvent(Entity entity, Type type, List<Integer> ids, List<Book> books) {
+        this.entity = entity;
+        this.type = type;
+        this.ids = ids;
+        this.books = books;
+    }
+
+    public static LibraryEvent booksCreated(Collection<Book> books) {
+        return withBooks(Type.CREATED, books);
+    }
+
+    public static LibraryEvent booksUpdated(Collection<Book> books) {
+        return withBooks(Type.UPDATED, books);
+    }
+
+    public static LibraryEvent booksDeleted(Collection<Integer> ids) {
+        return new LibraryEvent(Entity.BOOK, Type.DELETED, List.copyOf(ids), List.of());
+    }
+
+    /**
+     * Create an event for books added by an import. Imports may be too large to hold in
+     * memory, so only the ids are carried.
+     */
+    public static LibraryEvent booksImported(Collection<Integer> ids) {
+        return new LibraryEvent(Entity.BOOK, Type.BULK_IMPORTED, List.copyOf(ids), List.of());
+    }
+
+    /**
+     * Create an event for a single author or category.
+     */
+    public static LibraryEvent of(Entity entity, Type type, Integer id) {
+        return new LibraryEvent(entity, type, List.of(id), List.of());
+    }
+
+    private static LibraryEvent withBooks(Type type, Collection<Book> books) {
+        List<Integer> ids = new ArrayList<>(books.size());
+        for (Book book : books) {
+            ids.add(book.getId());
+        }
+        return new LibraryEvent(Entity.BOOK, type, List.copyOf(ids), List.copyOf(books));
+    }
+
+    /**
+     * Merge runs of consecutive events of the same entity and type into one event each,
+     * keeping the order of the runs.
+     */
+    static List<LibraryEvent> coalesce(List<LibraryEvent> events) {
+        List<LibraryEvent> merged = new ArrayList<>();
+        int from = 0;
+        while (from < events.size()) {
+            LibraryEvent first = events.get(from);
+            int to = from + 1;
+            while (to < events.size() && events.get(to).isSameKind(first)) {
+                to++;
+            }
+
+            if (to - from == 1) {
+                merged.add(first);
+            } else {
+                List<Integer> ids = new ArrayList<>();
+                List<Book> books = new ArrayList<>();
+                for (LibraryEvent event : events.subList(from, to)) {
+                    ids.addAll(event.ids);
+                    books.addAll(event.books);
+                }
+                merged.add(new LibraryEvent(first.entity, first.type, List.copyOf(ids), List.copyOf(books)));
+            }
+            from = to;
+        }
+        return merged;
+    }
+
+    private boolean isSameKind(LibraryEvent other) {
+        return entity == other.entity && type == other.type;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    /**
+     * Get the saved books of created and updated book events; empty otherwise.
+     */
+    public List<Book> getBooks() {
+        return books;
+    }
+
+    @Override
+    public String toString() {
+        return entity + " " + type + " " + ids;
+    }
+}
@@ -0,0 +1,124 @@
+package com.homelibrary.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for library change events, published after the change was made.
+ * Synchronous subscribers run on the publishing thread, which suits caches that must not
+ * serve stale data. Asynchronous subscribers run on their own executor and receive all
+ * events published since their last delivery at once, with runs of similar events merged,
+ * so a burst of changes costs one update.
+ */
+public class LibraryEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(LibraryEventBus.class);
+
+    private static LibraryEventBus instance;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private LibraryEventBus() {
+    }
+
+    public static synchronized LibraryEventBus getInstance() {
+        if (instance == null) {
+            instance = new LibraryEventBus();
+        }
+        return instance;
+    }
+
+    /**
+     * Register a subscriber that handles each event on the publishing thread.
+     */
+    public void subscribe(Consumer<LibraryEvent> subscriber) {
+        subscribers.add(new Subscriber(subscriber, null, events -> events.forEach(subscriber)));
+    }
+
+    /**
+     * Register a subscriber that handles coalesced events on the given executor,
+     * for example {@code Platform::runLater}.
+     */
+    public void subscribe(Executor executor, Consumer<List<LibraryEvent>> subscriber) {
+        subscribers.add(new Subscriber(subscriber, executor, subscriber));
+    }
+
+    public void unsubscribe(Object subscriber) {
+        subscribers.removeIf(registered -> registered.target == subscriber);
+    }
+
+    /**
+     * Deliver an event to every subscriber. A failing subscriber is logged and does not
+     * keep the event from the others.
+     */
+    public void publish(LibraryEvent event) {
+        logger.debug("Publishing {}", event);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * A registered subscriber and, for asynchronous ones, the events waiting for delivery.
+     */
+    private static final class Subscriber {
+        private final Object target;
+        private final Executor executor;
+        private final Consumer<List<LibraryEvent>> consumer;
+        private final List<LibraryEvent> pending = new ArrayList<>();
+        private boolean scheduled;
+
+        Subscriber(Object target, Executor executor, Consumer<List<LibraryEvent>> consumer) {
+            this.target = target;
+            this.executor = executor;
+            this.consumer = consumer;
+        }
+
+        void offer(LibraryEvent event) {
+            if (executor == null) {
+                deliver(List.of(event));
+                return;
+            }
+
+            synchronized (this) {
+                pending.add(event);
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                logger.warn("Dropped {} for a subscriber whose executor has stopped", event);
+                synchronized (this) {
+                    pending.clear();
+                    scheduled = false;
+                }
+            }
+        }
+
+        private void drain() {
+            List<LibraryEvent> events;
+            synchronized (this) {
+                events = new ArrayList<>(pending);
+                pending.clear();
+                scheduled = false;
+            }
+            deliver(LibraryEvent.coalesce(events));
+        }
+
+        private void deliver(List<LibraryEvent> events) {
+            try {
+                consumer.accept(events);
+            } catch (RuntimeException e) {
+                logger.error("Subscriber failed to handle {}", events, e);
+            }
+        }
+    }
+}
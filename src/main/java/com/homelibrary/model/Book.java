@@ -2,8 +2,12 @@ package com.homelibrary.model;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Represents a book in the library.
@@ -33,6 +37,19 @@ public class Book {
     private String borrowedTo;
     private LocalDateTime borrowedDate;
 
+    // Changes since the book was last loaded or saved, used to write only what changed
+    private final Set<Field> dirtyFields = EnumSet.noneOf(Field.class);
+    private Set<Integer> savedAuthorIds;
+
+    /**
+     * Persistent fields of a book, in the column order of the book table.
+     */
+    public enum Field {
+        TITLE, SUBTITLE, ISBN10, ISBN13, PUBLISHER, YEAR_PUBLISHED, CATEGORY, SHELF_LOCATION,
+        TAGS, FORMAT, LANGUAGE, NOTES, DATE_ADDED, READ, RATING, COVER_IMAGE_PATH, AMAZON_ASIN,
+        PHYSICAL_LOCATION, BORROWED, BORROWED_TO, BORROWED_DATE
+    }
+
     public Book() {
         this.authors = new ArrayList<>();
         this.dateAdded = LocalDateTime.now();
@@ -40,6 +57,41 @@ public class Book {
         this.isBorrowed = false;
     }
 
+    /**
+     * Copy a book, including its authors, category and change tracking state.
+     */
+    public Book(Book other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.subtitle = other.subtitle;
+        this.isbn10 = other.isbn10;
+        this.isbn13 = other.isbn13;
+        this.publisher = other.publisher;
+        this.yearPublished = other.yearPublished;
+        this.category = other.category != null
+            ? new Category(other.category.getId(), other.category.getName()) : null;
+        this.shelfLocation = other.shelfLocation;
+        this.tags = other.tags;
+        this.format = other.format;
+        this.language = other.language;
+        this.notes = other.notes;
+        this.dateAdded = other.dateAdded;
+        this.isRead = other.isRead;
+        this.rating = other.rating;
+        this.coverImagePath = other.coverImagePath;
+        this.amazonAsin = other.amazonAsin;
+        this.authors = new ArrayList<>();
+        for (Author author : other.authors) {
+            this.authors.add(new Author(author.getId(), author.getName()));
+        }
+        this.physicalLocation = other.physicalLocation;
+        this.isBorrowed = other.isBorrowed;
+        this.borrowedTo = other.borrowedTo;
+        this.borrowedDate = other.borrowedDate;
+        this.dirtyFields.addAll(other.dirtyFields);
+        this.savedAuthorIds = other.savedAuthorIds != null ? new HashSet<>(other.savedAuthorIds) : null;
+    }
+
     public Integer getId() {
         return id;
     }
@@ -53,7 +105,7 @@ public class Book {
     }
 
     public void setTitle(String title) {
-        this.title = title;
+        this.title = track(Field.TITLE, this.title, title);
     }
 
     public String getSubtitle() {
@@ -61,7 +113,7 @@ public class Book {
     }
 
     public void setSubtitle(String subtitle) {
-        this.subtitle = subtitle;
+        this.subtitle = track(Field.SUBTITLE, this.subtitle, subtitle);
     }
 
     public String getIsbn10() {
@@ -69,7 +121,7 @@ public class Book {
     }
 
     public void setIsbn10(String isbn10) {
-        this.isbn10 = isbn10;
+        this.isbn10 = track(Field.ISBN10, this.isbn10, isbn10);
     }
 
     public String getIsbn13() {
@@ -77,7 +129,7 @@ public class Book {
     }
 
     public void setIsbn13(String isbn13) {
-        this.isbn13 = isbn13;
+        this.isbn13 = track(Field.ISBN13, this.isbn13, isbn13);
     }
 
     public String getPublisher() {
@@ -85,7 +137,7 @@ public class Book {
     }
 
     public void setPublisher(String publisher) {
-        this.publisher = publisher;
+        this.publisher = track(Field.PUBLISHER, this.publisher, publisher);
     }
 
     public Integer getYearPublished() {
@@ -93,7 +145,7 @@ public class Book {
     }
 
     public void setYearPublished(Integer yearPublished) {
-        this.yearPublished = yearPublished;
+        this.yearPublished = track(Field.YEAR_PUBLISHED, this.yearPublished, yearPublished);
     }
 
     public Category getCategory() {
@@ -101,6 +153,12 @@ public class Book {
     }
 
     public void setCategory(Category category) {
+        // Only the category id is stored; a category without an id is yet to be saved
+        Integer oldId = this.category != null ? this.category.getId() : null;
+        Integer newId = category != null ? category.getId() : null;
+        if (!Objects.equals(oldId, newId) || (category != null && newId == null)) {
+            dirtyFields.add(Field.CATEGORY);
+        }
         this.category = category;
     }
 
@@ -109,7 +167,7 @@ public class Book {
     }
 
     public void setShelfLocation(String shelfLocation) {
-        this.shelfLocation = shelfLocation;
+        this.shelfLocation = track(Field.SHELF_LOCATION, this.shelfLocation, shelfLocation);
     }
 
     public String getTags() {
@@ -117,7 +175,7 @@ public class Book {
     }
 
     public void setTags(String tags) {
-        this.tags = tags;
+        this.tags = track(Field.TAGS, this.tags, tags);
     }
 
     public String getFormat() {
@@ -125,7 +183,7 @@ public class Book {
     }
 
     public void setFormat(String format) {
-        this.format = format;
+        this.format = track(Field.FORMAT, this.format, format);
     }
 
     public String getLanguage() {
@@ -133,7 +191,7 @@ public class Book {
     }
 
     public void setLanguage(String language) {
-        this.language = language;
+        this.language = track(Field.LANGUAGE, this.language, language);
     }
 
     public String getNotes() {
@@ -141,7 +199,7 @@ public class Book {
     }
 
     public void setNotes(String notes) {
-        this.notes = notes;
+        this.notes = track(Field.NOTES, this.notes, notes);
     }
 
     public LocalDateTime getDateAdded() {
@@ -149,7 +207,7 @@ public class Book {
     }
 
     public void setDateAdded(LocalDateTime dateAdded) {
-        this.dateAdded = dateAdded;
+        this.dateAdded = track(Field.DATE_ADDED, this.dateAdded, dateAdded);
     }
 
     public boolean isRead() {
@@ -157,7 +215,7 @@ public class Book {
     }
 
     public void setRead(boolean read) {
-        isRead = read;
+        isRead = track(Field.READ, isRead, read);
     }
 
     public Integer getRating() {
@@ -165,7 +223,7 @@ public class Book {
     }
 
     public void setRating(Integer rating) {
-        this.rating = rating;
+        this.rating = track(Field.RATING, this.rating, rating);
     }
 
     public String getCoverImagePath() {
@@ -173,7 +231,7 @@ public class Book {
     }
 
     public void setCoverImagePath(String coverImagePath) {
-        this.coverImagePath = coverImagePath;
+        this.coverImagePath = track(Field.COVER_IMAGE_PATH, this.coverImagePath, coverImagePath);
     }
 
     public String getAmazonAsin() {
@@ -181,7 +239,7 @@ public class Book {
     }
 
     public void setAmazonAsin(String amazonAsin) {
-        this.amazonAsin = amazonAsin;
+        this.amazonAsin = track(Field.AMAZON_ASIN, this.amazonAsin, amazonAsin);
     }
 
     public List<Author> getAuthors() {
@@ -204,7 +262,7 @@ public class Book {
     }
 
     public void setPhysicalLocation(String physicalLocation) {
-        this.physicalLocation = physicalLocation;
+        this.physicalLocation = track(Field.PHYSICAL_LOCATION, this.physicalLocation, physicalLocation);
     }
 
     public boolean isBorrowed() {
@@ -212,7 +270,7 @@ public class Book {
     }
 
     public void setBorrowed(boolean borrowed) {
-        isBorrowed = borrowed;
+        isBorrowed = track(Field.BORROWED, isBorrowed, borrowed);
     }
 
     public String getBorrowedTo() {
@@ -220,7 +278,7 @@ public class Book {
     }
 
     public void setBorrowedTo(String borrowedTo) {
-        this.borrowedTo = borrowedTo;
+        this.borrowedTo = track(Field.BORROWED_TO, this.borrowedTo, borrowedTo);
     }
 
     public LocalDateTime getBorrowedDate() {
@@ -228,7 +286,53 @@ public class Book {
     }
 
     public void setBorrowedDate(LocalDateTime borrowedDate) {
-        this.borrowedDate = borrowedDate;
+        this.borrowedDate = track(Field.BORROWED_DATE, this.borrowedDate, borrowedDate);
+    }
+
+    /**
+     * Get the fields changed since the book was last loaded or saved.
+     */
+    public Set<Field> getDirtyFields() {
+        return Collections.unmodifiableSet(dirtyFields);
+    }
+
+    /**
+     * Get the ids of the authors linked to the book when it was last loaded or saved,
+     * or null when its stored state is unknown.
+     */
+    public Set<Integer> getSavedAuthorIds() {
+        return savedAuthorIds;
+    }
+
+    /**
+     * Check whether the stored state of the book is known, so that saving it can write
+     * only the changed fields and author links.
+     */
+    public boolean isTracked() {
+        return savedAuthorIds != null;
+    }
+
+    /**
+     * Mark the current state as the stored state; called after loading or saving the book.
+     */
+    public void markClean() {
+        dirtyFields.clear();
+        savedAuthorIds = new HashSet<>();
+        for (Author author : authors) {
+            if (author.getId() != null) {
+                savedAuthorIds.add(author.getId());
+            }
+        }
+    }
+
+    /**
+     * Record a field as changed when its new value differs from the old one.
+     */
+    private <T> T track(Field field, T oldValue, T newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            dirtyFields.add(field);
+        }
+        return newValue;
     }
 
     /**
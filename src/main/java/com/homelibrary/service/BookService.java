@@ -1,8 +1,17 @@
 package com.homelibrary.service;
 
 import com.homelibrary.dao.AuthorDao;
+import com.homelibrary.dao.BookCursor;
 import com.homelibrary.dao.BookDao;
+import com.homelibrary.dao.BookPage;
+import com.homelibrary.dao.BookQuery;
+import com.homelibrary.dao.BookSort;
 import com.homelibrary.dao.CategoryDao;
+import com.homelibrary.dao.Cursor;
+import com.homelibrary.dao.QueryCancellation;
+import com.homelibrary.dao.StatisticsDao;
+import com.homelibrary.event.LibraryEvent;
+import com.homelibrary.event.LibraryEventBus;
 import com.homelibrary.model.Author;
 import com.homelibrary.model.Book;
 import com.homelibrary.model.Category;
@@ -16,7 +25,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -28,13 +41,17 @@ public class BookService {
     private final BookDao bookDao;
     private final AuthorDao authorDao;
     private final CategoryDao categoryDao;
+    private final StatisticsDao statisticsDao;
     private final ConfigService configService;
+    private final LibraryEventBus eventBus;
 
     public BookService() {
         this.bookDao = new BookDao();
         this.authorDao = new AuthorDao();
         this.categoryDao = new CategoryDao();
+        this.statisticsDao = new StatisticsDao();
         this.configService = ConfigService.getInstance();
+        this.eventBus = LibraryEventBus.getInstance();
 
         // Ensure covers directory exists
         createCoversDirectory();
@@ -54,7 +71,7 @@ public class BookService {
     }
 
     /**
-     * Save a book.
+     * Save a book and publish it as inserted or updated.
      */
     public Book saveBook(Book book) throws SQLException {
         // Ensure category is saved if needed
@@ -74,7 +91,70 @@ public class BookService {
             }
         }
 
-        return bookDao.save(book);
+        boolean inserted = book.getId() == null;
+        Book saved = bookDao.save(book);
+        eventBus.publish(inserted ? LibraryEvent.booksCreated(List.of(saved)) : LibraryEvent.booksUpdated(List.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Save many books in batched transactions, publishing one created and one updated event.
+     * Categories and authors are resolved once per distinct name across the whole collection.
+     */
+    public List<Book> saveBooks(Collection<Book> books) throws SQLException {
+        return saveBooks(books, true);
+    }
+
+    /**
+     * Save many books, optionally leaving the events to the caller, as imports do.
+     */
+    List<Book> saveBooks(Collection<Book> books, boolean publish) throws SQLException {
+        Map<String, Category> categoriesByName = new HashMap<>();
+        Map<String, Author> authorsByName = new HashMap<>();
+        List<Book> inserted = new ArrayList<>();
+        List<Book> updated = new ArrayList<>();
+
+        for (Book book : books) {
+            (book.getId() == null ? inserted : updated).add(book);
+
+            if (book.getCategory() != null && book.getCategory().getId() == null) {
+                String name = book.getCategory().getName();
+                Category category = categoriesByName.get(name);
+                if (category == null) {
+                    category = categoryDao.getOrCreate(name);
+                    categoriesByName.put(name, category);
+                }
+                book.setCategory(category);
+            }
+
+            if (book.getAuthors() != null) {
+                for (int i = 0; i < book.getAuthors().size(); i++) {
+                    Author author = book.getAuthors().get(i);
+                    if (author.getId() == null) {
+                        Author resolved = authorsByName.get(author.getName());
+                        if (resolved == null) {
+                            resolved = authorDao.getOrCreate(author.getName());
+                            authorsByName.put(author.getName(), resolved);
+                        }
+                        book.getAuthors().set(i, resolved);
+                    }
+                }
+            }
+        }
+
+        try {
+            List<Book> saved = bookDao.saveAll(books);
+            if (publish && !updated.isEmpty()) {
+                eventBus.publish(LibraryEvent.booksUpdated(updated));
+            }
+            return saved;
+        } finally {
+            // Batches committed before a failure keep their ids; rolled back inserts lose them
+            inserted.removeIf(book -> book.getId() == null);
+            if (publish && !inserted.isEmpty()) {
+                eventBus.publish(LibraryEvent.booksCreated(inserted));
+            }
+        }
     }
 
     /**
@@ -91,6 +171,74 @@ public class BookService {
         return bookDao.findAll();
     }
 
+    /**
+     * Get all books in the given order.
+     */
+    public List<Book> getAllBooks(BookSort sort) throws SQLException {
+        return bookDao.findAll(sort);
+    }
+
+    /**
+     * Find books matching the query in the given order, allowing the query to be cancelled from another thread.
+     */
+    public List<Book> findBooks(BookQuery query, BookSort sort, QueryCancellation cancellation) throws SQLException {
+        return bookDao.find(query, sort, cancellation);
+    }
+
+    /**
+     * Count books matching the query.
+     */
+    public int countBooks(BookQuery query) throws SQLException {
+        return bookDao.count(query);
+    }
+
+    /**
+     * Get a page of books matching the query in the given order, starting after the given key (null for the first page).
+     */
+    public BookPage getBookPage(BookQuery query, BookPage.Key after, int pageSize, BookSort sort) throws SQLException {
+        return bookDao.findPage(query, after, pageSize, sort);
+    }
+
+    /**
+     * Get a page of books like {@link #getBookPage(BookQuery, BookPage.Key, int, BookSort)},
+     * allowing the query to be cancelled from another thread.
+     */
+    public BookPage getBookPage(BookQuery query, BookPage.Key after, int pageSize, BookSort sort,
+                                QueryCancellation cancellation) throws SQLException {
+        return bookDao.findPage(query, after, pageSize, sort, cancellation);
+    }
+
+    /**
+     * Find the key of the matching book a number of positions after the given key (null for the start).
+     */
+    public Optional<BookPage.Key> findBookKeyAt(BookQuery query, BookPage.Key after, int offset, BookSort sort)
+            throws SQLException {
+        return bookDao.findKeyAt(query, after, offset, sort);
+    }
+
+    /**
+     * Find the books that share an ISBN-10, an ISBN-13 or a title ignoring case with the given
+     * values, with only their id, title, ISBNs and authors loaded.
+     */
+    public List<Book> findBooksByIsbnOrTitle(Collection<String> isbn10s, Collection<String> isbn13s,
+                                             Collection<String> titles) throws SQLException {
+        return bookDao.findByIsbnOrTitle(isbn10s, isbn13s, titles);
+    }
+
+    /**
+     * Open a cursor over all books with their authors.
+     */
+    public BookCursor openBookCursor() throws SQLException {
+        return bookDao.openCursor();
+    }
+
+    /**
+     * Open a cursor over the distinct cover image paths of all books.
+     */
+    public Cursor<String> openCoverImagePathCursor() throws SQLException {
+        return bookDao.openCoverImagePathCursor();
+    }
+
     /**
      * Search books.
      */
@@ -98,6 +246,20 @@ public class BookService {
         return bookDao.search(query);
     }
 
+    /**
+     * Search books, allowing the query to be cancelled from another thread.
+     */
+    public List<Book> searchBooks(String query, QueryCancellation cancellation) throws SQLException {
+        return bookDao.search(query, cancellation);
+    }
+
+    /**
+     * Search books in the given order, allowing the query to be cancelled from another thread.
+     */
+    public List<Book> searchBooks(String query, BookSort sort, QueryCancellation cancellation) throws SQLException {
+        return bookDao.search(query, sort, cancellation);
+    }
+
     /**
      * Find books by category.
      */
@@ -105,6 +267,13 @@ public class BookService {
         return bookDao.findByCategory(categoryId);
     }
 
+    /**
+     * Find books by category in the given order.
+     */
+    public List<Book> getBooksByCategory(Integer categoryId, BookSort sort) throws SQLException {
+        return bookDao.findByCategory(categoryId, sort);
+    }
+
     /**
      * Find books by read status.
      */
@@ -112,6 +281,13 @@ public class BookService {
         return bookDao.findByReadStatus(isRead);
     }
 
+    /**
+     * Find books by read status in the given order.
+     */
+    public List<Book> getBooksByReadStatus(boolean isRead, BookSort sort) throws SQLException {
+        return bookDao.findByReadStatus(isRead, sort);
+    }
+
     /**
      * Find books by borrowed status.
      */
@@ -120,7 +296,14 @@ public class BookService {
     }
 
     /**
-     * Delete a book.
+     * Find books by borrowed status in the given order.
+     */
+    public List<Book> getBooksByBorrowedStatus(boolean isBorrowed, BookSort sort) throws SQLException {
+        return bookDao.findByBorrowedStatus(isBorrowed, sort);
+    }
+
+    /**
+     * Delete a book and publish its deletion.
      */
     public boolean deleteBook(Integer id) throws SQLException {
         Optional<Book> book = bookDao.findById(id);
@@ -130,7 +313,11 @@ public class BookService {
             deleteCoverImage(book.get().getCoverImagePath());
         }
 
-        return bookDao.delete(id);
+        boolean deleted = bookDao.delete(id);
+        if (deleted) {
+            eventBus.publish(LibraryEvent.booksDeleted(List.of(id)));
+        }
+        return deleted;
     }
 
     /**
@@ -162,7 +349,7 @@ public class BookService {
     }
 
     /**
-     * Upload cover image for a book.
+     * Upload cover image for a book and generate its thumbnails in the background.
      */
     public String uploadCoverImage(File sourceFile, Integer bookId) throws IOException {
         if (sourceFile == null || !sourceFile.exists()) {
@@ -176,6 +363,7 @@ public class BookService {
 
         Files.copy(sourceFile.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
         logger.info("Uploaded cover image: {}", targetPath);
+        ThumbnailService.getInstance().generate(targetPath.toString());
 
         return targetPath.toString();
     }
@@ -187,6 +375,7 @@ public class BookService {
         try {
             Path path = Paths.get(imagePath);
             Files.deleteIfExists(path);
+            ThumbnailService.delete(imagePath);
             logger.info("Deleted cover image: {}", imagePath);
         } catch (IOException e) {
             logger.error("Failed to delete cover image: {}", imagePath, e);
@@ -211,20 +400,42 @@ public class BookService {
         return bookDao.count();
     }
 
+    /**
+     * Get the share of book lookups by id answered from the book cache.
+     */
+    public double getBookCacheHitRatio() {
+        return bookDao.getCacheHitRatio();
+    }
+
     /**
      * Get statistics about the library.
+     * All counts come from aggregate queries, so no books are loaded.
      */
     public LibraryStats getLibraryStats() throws SQLException {
+        StatisticsDao.Totals totals = statisticsDao.findTotals();
         LibraryStats stats = new LibraryStats();
-        stats.totalBooks = bookDao.count();
-        stats.readBooks = bookDao.findByReadStatus(true).size();
-        stats.unreadBooks = bookDao.findByReadStatus(false).size();
-        stats.borrowedBooks = bookDao.findByBorrowedStatus(true).size();
-        stats.totalAuthors = authorDao.findAll().size();
-        stats.totalCategories = categoryDao.findAll().size();
+        stats.totalBooks = totals.books;
+        stats.readBooks = totals.readBooks;
+        stats.unreadBooks = totals.unreadBooks;
+        stats.borrowedBooks = totals.borrowedBooks;
+        stats.totalAuthors = totals.authors;
+        stats.totalCategories = totals.categories;
+        stats.booksByCategory = statisticsDao.countBooksByCategory();
+        stats.booksByFormat = statisticsDao.countBooksByFormat();
+        stats.booksByLanguage = statisticsDao.countBooksByLanguage();
         return stats;
     }
 
+    /**
+     * Recompute the materialized library statistics from the data.
+     * Returns whether they were already consistent before the rebuild.
+     */
+    public boolean rebuildLibraryStats() throws SQLException {
+        boolean consistent = statisticsDao.isConsistent();
+        statisticsDao.rebuild();
+        return consistent;
+    }
+
     /**
      * Inner class for library statistics.
      */
@@ -235,6 +446,10 @@ public class BookService {
         public int borrowedBooks;
         public int totalAuthors;
         public int totalCategories;
+        // Book counts per value, largest first
+        public Map<String, Integer> booksByCategory = Map.of();
+        public Map<String, Integer> booksByFormat = Map.of();
+        public Map<String, Integer> booksByLanguage = Map.of();
 
         @Override
         public String toString() {
@@ -60,6 +60,7 @@ public class ConfigService {
         // Application settings
         properties.setProperty("covers.directory", "covers");
         properties.setProperty("database.file", "homelibrary.db");
+        properties.setProperty("database.pool.readers", "4");
 
         saveConfiguration();
     }
@@ -117,6 +118,93 @@ public class ConfigService {
         return getProperty("covers.directory", "covers");
     }
 
+    /**
+     * Get number of pooled read-only database connections.
+     */
+    public int getDatabaseReaderCount() {
+        return getIntProperty("database.pool.readers", 4, 1);
+    }
+
+    /**
+     * Get number of prepared statements cached per database connection; 0 disables the cache.
+     */
+    public int getStatementCacheSize() {
+        return getIntProperty("database.statement.cache.size", 64, 0);
+    }
+
+    /**
+     * Get maximum number of authors and of categories kept in the in-process caches.
+     */
+    public int getEntityCacheSize() {
+        return getIntProperty("cache.entities.size", 10000, 1);
+    }
+
+    /**
+     * Get approximate memory limit of the book cache in KiB; 0 disables the cache.
+     */
+    public int getBookCacheSizeKb() {
+        return getIntProperty("cache.books.size.kb", 8192, 0);
+    }
+
+    /**
+     * Get memory limit of the decoded cover thumbnail cache in KiB; 0 disables the cache.
+     */
+    public int getCoverCacheSizeKb() {
+        return getIntProperty("cache.covers.size.kb", 32768, 0);
+    }
+
+    /**
+     * Get number of books written per transaction by bulk saves and imports.
+     */
+    public int getDatabaseBatchSize() {
+        return getIntProperty("database.batch.size", 1000, 1);
+    }
+
+    /**
+     * Get delay after the last keystroke before search-as-you-type runs, in milliseconds.
+     */
+    public int getSearchDebounceMillis() {
+        return getIntProperty("search.debounce.ms", 250, 0);
+    }
+
+    /**
+     * Get minimum search text length; shorter text shows the whole library.
+     */
+    public int getSearchMinLength() {
+        return getIntProperty("search.min.length", 2, 1);
+    }
+
+    /**
+     * Check whether library statistics are kept in trigger-maintained summary tables.
+     */
+    public boolean isStatisticsMaterialized() {
+        return Boolean.parseBoolean(getProperty("database.stats.materialized", "true"));
+    }
+
+    /**
+     * Get a SQLite pragma value applied to every database connection.
+     */
+    public String getDatabasePragma(String name, String defaultValue) {
+        return getProperty("database.pragma." + name, defaultValue);
+    }
+
+    /**
+     * Get integer property value, falling back to the default when missing, invalid or below the minimum.
+     */
+    private int getIntProperty(String key, int defaultValue, int minValue) {
+        String value = getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            return parsed >= minValue ? parsed : defaultValue;
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value for {}: {}", key, value);
+            return defaultValue;
+        }
+    }
+
     /**
      * Get Amazon API access key.
      */
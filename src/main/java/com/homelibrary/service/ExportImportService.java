@@ -1,18 +1,26 @@
 package com.homelibrary.service;
 
+import com.homelibrary.dao.BookCursor;
+import com.homelibrary.dao.Cursor;
+import com.homelibrary.event.LibraryEvent;
+import com.homelibrary.event.LibraryEventBus;
 import com.homelibrary.model.Author;
 import com.homelibrary.model.Book;
 import com.homelibrary.model.Category;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 /**
@@ -34,8 +42,6 @@ public class ExportImportService {
     public void exportToJson(File file) throws Exception {
         logger.info("Exporting books to: {}", file.getAbsolutePath());
 
-        List<Book> books = bookService.getAllBooks();
-
         // Change extension to .zip if it's .json
         String fileName = file.getAbsolutePath();
         if (fileName.endsWith(".json")) {
@@ -43,7 +49,9 @@ public class ExportImportService {
             file = new File(fileName);
         }
 
-        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(file))) {
+        // Books are streamed from a database cursor, so memory use does not grow with the library
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(file));
+             BookCursor books = bookService.openBookCursor()) {
             // Write JSON data
             ZipEntry jsonEntry = new ZipEntry("library.json");
             zos.putNextEntry(jsonEntry);
@@ -54,10 +62,12 @@ public class ExportImportService {
             writer.write("  \"version\": \"2.0\",\n");
             writer.write("  \"books\": [\n");
 
-            Set<String> exportedImages = new HashSet<>();
-
-            for (int i = 0; i < books.size(); i++) {
-                Book book = books.get(i);
+            int bookCount = 0;
+            Book book;
+            while ((book = books.next()) != null) {
+                if (bookCount > 0) {
+                    writer.write(",\n");
+                }
                 writer.write("    {\n");
                 writeJsonField(writer, "title", book.getTitle(), true);
                 writeJsonField(writer, "subtitle", book.getSubtitle(), false);
@@ -79,7 +89,6 @@ public class ExportImportService {
                     if (imageFile.exists()) {
                         String imageName = imageFile.getName();
                         writeJsonField(writer, "coverImagePath", "images/" + imageName, false);
-                        exportedImages.add(book.getCoverImagePath());
                     } else {
                         writeJsonField(writer, "coverImagePath", null, false);
                     }
@@ -121,106 +130,45 @@ public class ExportImportService {
                 }
 
                 writer.write("    }");
-                if (i < books.size() - 1) {
-                    writer.write(",");
-                }
-                writer.write("\n");
+                bookCount++;
             }
 
-            writer.write("  ]\n");
+            writer.write("\n  ]\n");
             writer.write("}\n");
             writer.flush();
             zos.closeEntry();
 
             // Export images
             int imageCount = 0;
-            for (String imagePath : exportedImages) {
-                File imageFile = new File(imagePath);
-                if (imageFile.exists()) {
-                    try {
-                        ZipEntry imageEntry = new ZipEntry("images/" + imageFile.getName());
-                        zos.putNextEntry(imageEntry);
-                        Files.copy(imageFile.toPath(), zos);
-                        zos.closeEntry();
-                        imageCount++;
-                    } catch (Exception e) {
-                        logger.warn("Failed to export image: {}", imagePath, e);
+            try (Cursor<String> imagePaths = bookService.openCoverImagePathCursor()) {
+                String imagePath;
+                while ((imagePath = imagePaths.next()) != null) {
+                    File imageFile = new File(imagePath);
+                    if (imageFile.exists()) {
+                        try {
+                            ZipEntry imageEntry = new ZipEntry("images/" + imageFile.getName());
+                            zos.putNextEntry(imageEntry);
+                            Files.copy(imageFile.toPath(), zos);
+                            zos.closeEntry();
+                            imageCount++;
+                        } catch (Exception e) {
+                            logger.warn("Failed to export image: {}", imagePath, e);
+                        }
                     }
                 }
             }
 
-            logger.info("Successfully exported {} books and {} images", books.size(), imageCount);
+            logger.info("Successfully exported {} books and {} images", bookCount, imageCount);
         }
     }
 
     /**
-     * Import books from a JSON or ZIP file.
+     * Import books from a JSON or ZIP file, publishing one bulk-imported event for all
+     * books saved, even if the import fails part way.
      */
     public ImportResult importFromJson(File file) throws Exception {
         logger.info("Importing books from: {}", file.getAbsolutePath());
 
-        String content;
-        File tempImagesDir = null;
-
-        // Check if file is a ZIP
-        if (file.getName().endsWith(".zip")) {
-            // Extract ZIP to temp directory
-            tempImagesDir = Files.createTempDirectory("homelibrary_import").toFile();
-            logger.info("Extracting ZIP to: {}", tempImagesDir.getAbsolutePath());
-
-            try (ZipInputStream zis = new ZipInputStream(new FileInputStream(file))) {
-                ZipEntry entry;
-                byte[] buffer = new byte[8192];
-
-                while ((entry = zis.getNextEntry()) != null) {
-                    File entryFile = new File(tempImagesDir, entry.getName());
-
-                    if (entry.isDirectory()) {
-                        entryFile.mkdirs();
-                    } else {
-                        entryFile.getParentFile().mkdirs();
-                        try (FileOutputStream fos = new FileOutputStream(entryFile)) {
-                            int len;
-                            while ((len = zis.read(buffer)) > 0) {
-                                fos.write(buffer, 0, len);
-                            }
-                        }
-                    }
-                    zis.closeEntry();
-                }
-            }
-
-            // Read JSON from extracted files
-            File jsonFile = new File(tempImagesDir, "library.json");
-            if (!jsonFile.exists()) {
-                throw new Exception("Invalid ZIP file: library.json not found");
-            }
-            content = Files.readString(jsonFile.toPath());
-        } else {
-            // Read plain JSON file
-            content = Files.readString(file.toPath());
-        }
-
-        List<Book> books = parseJsonBooks(content);
-
-        // Get existing books to check for duplicates
-        List<Book> existingBooks = bookService.getAllBooks();
-        Set<String> existingIsbn10 = new HashSet<>();
-        Set<String> existingIsbn13 = new HashSet<>();
-        Map<String, Book> existingTitles = new HashMap<>();
-
-        for (Book existing : existingBooks) {
-            if (existing.getIsbn10() != null && !existing.getIsbn10().isEmpty()) {
-                existingIsbn10.add(existing.getIsbn10());
-            }
-            if (existing.getIsbn13() != null && !existing.getIsbn13().isEmpty()) {
-                existingIsbn13.add(existing.getIsbn13());
-            }
-            if (existing.getTitle() != null) {
-                existingTitles.put(existing.getTitle().toLowerCase(), existing);
-            }
-        }
-
         int successCount = 0;
         int skipCount = 0;
         int errorCount = 0;
@@ -231,82 +179,232 @@ public class ExportImportService {
         File imagesDir = new File("data/images");
         imagesDir.mkdirs();
 
-        for (Book book : books) {
-            try {
-                // Check for duplicates
-                boolean isDuplicate = false;
-                String duplicateReason = "";
-
-                if (book.getIsbn10() != null && !book.getIsbn10().isEmpty() && existingIsbn10.contains(book.getIsbn10())) {
-                    isDuplicate = true;
-                    duplicateReason = "ISBN-10: " + book.getIsbn10();
-                } else if (book.getIsbn13() != null && !book.getIsbn13().isEmpty() && existingIsbn13.contains(book.getIsbn13())) {
-                    isDuplicate = true;
-                    duplicateReason = "ISBN-13: " + book.getIsbn13();
-                } else if (book.getTitle() != null && existingTitles.containsKey(book.getTitle().toLowerCase())) {
-                    Book existing = existingTitles.get(book.getTitle().toLowerCase());
-                    // Check if authors also match
-                    if (authorsMatch(book.getAuthors(), existing.getAuthors())) {
-                        isDuplicate = true;
-                        duplicateReason = "Title and authors match";
-                    }
+        int batchSize = ConfigService.getInstance().getDatabaseBatchSize();
+        List<Book> pending = new ArrayList<>();
+        List<Integer> importedIds = new ArrayList<>();
+        // Covers this import created, deleted again if no saved book uses them
+        Set<String> copiedCovers = new HashSet<>();
+
+        try {
+            // ZIP archives are read in place: library.json is parsed straight from its entry
+            // and each referenced cover is copied from its entry to the images directory
+            try (ZipFile zipFile = file.getName().endsWith(".zip") ? new ZipFile(file) : null;
+                 JsonReader reader = new JsonReader(openJsonReader(file, zipFile))) {
+                if (!skipToBooksArray(reader)) {
+                    throw new Exception("Invalid JSON format: 'books' array not found");
                 }
 
-                if (isDuplicate) {
-                    skipCount++;
-                    skipped.add("Skipped '" + book.getTitle() + "' (" + duplicateReason + ")");
-                    logger.info("Skipping duplicate book: {} - {}", book.getTitle(), duplicateReason);
-                    continue;
-                }
+                List<Book> batch = new ArrayList<>();
+                while (reader.hasNext()) {
+                    try {
+                        batch.add(readBook(reader));
+                    } catch (IllegalArgumentException e) {
+                        errorCount++;
+                        String errorMsg = "Failed to import book: " + e.getMessage();
+                        errors.add(errorMsg);
+                        logger.error(errorMsg, e);
+                    }
+                    if (batch.size() < batchSize && reader.hasNext()) {
+                        continue;
+                    }
 
-                // Handle image import
-                if (tempImagesDir != null && book.getCoverImagePath() != null && !book.getCoverImagePath().isEmpty()) {
-                    String imagePath = book.getCoverImagePath();
-                    File sourceImage = new File(tempImagesDir, imagePath);
+                    // Duplicates are looked up for the whole batch with indexed queries
+                    ExistingBooks existing = findExistingBooks(batch);
+                    for (Book book : batch) {
+                        try {
+                            String duplicateReason = findDuplicateReason(book, existing);
+                            if (duplicateReason != null) {
+                                skipCount++;
+                                skipped.add("Skipped '" + book.getTitle() + "' (" + duplicateReason + ")");
+                                logger.info("Skipping duplicate book: {} - {}", book.getTitle(), duplicateReason);
+                                continue;
+                            }
 
-                    if (sourceImage.exists()) {
-                        String imageName = sourceImage.getName();
-                        File targetImage = new File(imagesDir, imageName);
+                            // Handle image import
+                            if (zipFile != null && book.getCoverImagePath() != null && !book.getCoverImagePath().isEmpty()) {
+                                String imagePath = book.getCoverImagePath();
+                                ZipEntry imageEntry = zipFile.getEntry(imagePath);
+
+                                if (imageEntry != null && !imageEntry.isDirectory()) {
+                                    String imageName = new File(imagePath).getName();
+                                    File targetImage = new File(imagesDir, imageName);
+
+                                    // Copy image to permanent location
+                                    boolean existed = targetImage.exists();
+                                    try (InputStream in = zipFile.getInputStream(imageEntry)) {
+                                        Files.copy(in, targetImage.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                                    }
+                                    book.setCoverImagePath(targetImage.getAbsolutePath());
+                                    if (!existed) {
+                                        copiedCovers.add(targetImage.getAbsolutePath());
+                                    }
+                                    logger.info("Imported image: {}", imageName);
+                                } else {
+                                    logger.warn("Image not found in ZIP: {}", imagePath);
+                                    book.setCoverImagePath(null);
+                                }
+                            } else if (book.getCoverImagePath() != null) {
+                                // Clear non-existent image path
+                                book.setCoverImagePath(null);
+                            }
 
-                        // Copy image to permanent location
-                        Files.copy(sourceImage.toPath(), targetImage.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                        book.setCoverImagePath(targetImage.getAbsolutePath());
-                        logger.info("Imported image: {}", imageName);
-                    } else {
-                        logger.warn("Image not found in ZIP: {}", imagePath);
-                        book.setCoverImagePath(null);
+                            // Clear ID to create new books
+                            book.setId(null);
+
+                            // Ensure authors list is not null
+                            if (book.getAuthors() == null) {
+                                book.setAuthors(new ArrayList<>());
+                            }
+
+                            pending.add(book);
+                        } catch (Exception e) {
+                            errorCount++;
+                            String errorMsg = "Failed to import book '" + (book.getTitle() != null ? book.getTitle() : "unknown") + "': " + e.getMessage();
+                            errors.add(errorMsg);
+                            logger.error(errorMsg, e);
+                        }
+                    }
+                    batch.clear();
+
+                    if (!pending.isEmpty()) {
+                        int saved = savePending(pending, errors, importedIds, copiedCovers);
+                        successCount += saved;
+                        errorCount += pending.size() - saved;
+                        pending.clear();
                     }
-                } else if (book.getCoverImagePath() != null) {
-                    // Clear non-existent image path
-                    book.setCoverImagePath(null);
                 }
+            }
+        } finally {
+            if (!importedIds.isEmpty()) {
+                LibraryEventBus.getInstance().publish(LibraryEvent.booksImported(importedIds));
+            }
+        }
 
-                // Clear ID to create new books
-                book.setId(null);
+        logger.info("Import completed: {} successful, {} duplicates skipped, {} errors", successCount, skipCount, errorCount);
+        return new ImportResult(successCount, errorCount, errors, skipCount, skipped);
+    }
 
-                // Ensure authors list is not null
-                if (book.getAuthors() == null) {
-                    book.setAuthors(new ArrayList<>());
+    /**
+     * Save a batch of imported books in one transaction, collecting the ids of the saved books.
+     * If the batch fails, its books are saved one at a time so that only the failing books are
+     * reported and skipped; covers copied for them are deleted. Thumbnails are generated for
+     * the covers of saved books. Returns the number of books saved.
+     */
+    private int savePending(List<Book> pending, List<String> errors, List<Integer> importedIds,
+                            Set<String> copiedCovers) {
+        List<Book> failed = new ArrayList<>();
+        try {
+            bookService.saveBooks(pending, false);
+            logger.info("Imported {} books", pending.size());
+        } catch (Exception e) {
+            logger.warn("Failed to import a batch of {} books, retrying one at a time", pending.size(), e);
+            for (Book book : pending) {
+                // Books whose batch was rolled back have no id
+                if (book.getId() != null) {
+                    continue;
                 }
+                try {
+                    bookService.saveBooks(List.of(book), false);
+                } catch (Exception bookError) {
+                    String errorMsg = "Failed to import book '" + (book.getTitle() != null ? book.getTitle() : "unknown")
+                            + "': " + bookError.getMessage();
+                    errors.add(errorMsg);
+                    logger.error(errorMsg, bookError);
+                    failed.add(book);
+                }
+            }
+        }
 
-                bookService.saveBook(book);
-                successCount++;
-                logger.info("Imported book: {}", book.getTitle());
-            } catch (Exception e) {
-                errorCount++;
-                String errorMsg = "Failed to import book '" + (book.getTitle() != null ? book.getTitle() : "unknown") + "': " + e.getMessage();
-                errors.add(errorMsg);
-                logger.error(errorMsg, e);
+        int saved = 0;
+        for (Book book : pending) {
+            if (book.getId() != null) {
+                saved++;
+                importedIds.add(book.getId());
+                if (book.getCoverImagePath() != null) {
+                    copiedCovers.remove(book.getCoverImagePath());
+                    ThumbnailService.getInstance().generate(book.getCoverImagePath());
+                }
             }
         }
+        for (Book book : failed) {
+            discardCover(book.getCoverImagePath(), copiedCovers);
+        }
+        return saved;
+    }
 
-        // Clean up temp directory
-        if (tempImagesDir != null) {
-            deleteDirectory(tempImagesDir);
+    /**
+     * Delete a cover copied by this import, and its thumbnails, when no saved book uses it.
+     */
+    private void discardCover(String imagePath, Set<String> copiedCovers) {
+        if (imagePath == null || !copiedCovers.remove(imagePath)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(imagePath));
+            ThumbnailService.delete(imagePath);
+            logger.info("Deleted cover of book that failed to import: {}", imagePath);
+        } catch (IOException e) {
+            logger.warn("Failed to delete cover image: {}", imagePath, e);
         }
+    }
 
-        logger.info("Import completed: {} successful, {} duplicates skipped, {} errors", successCount, skipCount, errorCount);
-        return new ImportResult(successCount, errorCount, errors, skipCount, skipped);
+    /**
+     * Look up the books an imported batch could duplicate, by ISBN and by title.
+     */
+    private ExistingBooks findExistingBooks(List<Book> batch) throws Exception {
+        ExistingBooks existing = new ExistingBooks();
+        if (batch.isEmpty()) {
+            return existing;
+        }
+
+        Set<String> isbn10s = new HashSet<>();
+        Set<String> isbn13s = new HashSet<>();
+        Set<String> titles = new HashSet<>();
+        for (Book book : batch) {
+            if (book.getIsbn10() != null && !book.getIsbn10().isEmpty()) {
+                isbn10s.add(book.getIsbn10());
+            }
+            if (book.getIsbn13() != null && !book.getIsbn13().isEmpty()) {
+                isbn13s.add(book.getIsbn13());
+            }
+            if (book.getTitle() != null) {
+                titles.add(book.getTitle());
+            }
+        }
+
+        for (Book book : bookService.findBooksByIsbnOrTitle(isbn10s, isbn13s, titles)) {
+            if (book.getIsbn10() != null && !book.getIsbn10().isEmpty()) {
+                existing.isbn10s.add(book.getIsbn10());
+            }
+            if (book.getIsbn13() != null && !book.getIsbn13().isEmpty()) {
+                existing.isbn13s.add(book.getIsbn13());
+            }
+            if (book.getTitle() != null) {
+                existing.byTitle.computeIfAbsent(book.getTitle().toLowerCase(), k -> new ArrayList<>()).add(book);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Get why a book duplicates an existing one, or null if it does not.
+     */
+    private String findDuplicateReason(Book book, ExistingBooks existing) {
+        if (book.getIsbn10() != null && !book.getIsbn10().isEmpty() && existing.isbn10s.contains(book.getIsbn10())) {
+            return "ISBN-10: " + book.getIsbn10();
+        }
+        if (book.getIsbn13() != null && !book.getIsbn13().isEmpty() && existing.isbn13s.contains(book.getIsbn13())) {
+            return "ISBN-13: " + book.getIsbn13();
+        }
+        if (book.getTitle() != null) {
+            for (Book match : existing.byTitle.getOrDefault(book.getTitle().toLowerCase(), List.of())) {
+                // Check if authors also match
+                if (authorsMatch(book.getAuthors(), match.getAuthors())) {
+                    return "Title and authors match";
+                }
+            }
+        }
+        return null;
     }
 
     /**
@@ -338,242 +436,144 @@ public class ExportImportService {
     }
 
     /**
-     * Delete directory recursively.
+     * Open a reader over the JSON document, either a plain file or the library.json entry of a ZIP.
      */
-    private void deleteDirectory(File dir) {
-        File[] files = dir.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    deleteDirectory(file);
-                } else {
-                    file.delete();
-                }
-            }
+    private Reader openJsonReader(File file, ZipFile zipFile) throws Exception {
+        if (zipFile == null) {
+            return Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
         }
-        dir.delete();
-    }
-
-    /**
-     * Parse JSON content and extract books.
-     */
-    private List<Book> parseJsonBooks(String json) throws Exception {
-        List<Book> books = new ArrayList<>();
 
-        // Find books array
-        int booksStart = json.indexOf("\"books\": [");
-        if (booksStart == -1) {
-            throw new Exception("Invalid JSON format: 'books' array not found");
+        ZipEntry jsonEntry = zipFile.getEntry("library.json");
+        if (jsonEntry == null) {
+            throw new Exception("Invalid ZIP file: library.json not found");
         }
-
-        int arrayStart = json.indexOf('[', booksStart);
-        int arrayEnd = findMatchingBracket(json, arrayStart);
-
-        String booksJson = json.substring(arrayStart + 1, arrayEnd);
-
-        // Parse each book object
-        int pos = 0;
-        while (pos < booksJson.length()) {
-            int objStart = booksJson.indexOf('{', pos);
-            if (objStart == -1) break;
-
-            int objEnd = findMatchingBrace(booksJson, objStart);
-            String bookJson = booksJson.substring(objStart + 1, objEnd);
-
-            Book book = parseBook(bookJson);
-            books.add(book);
-
-            pos = objEnd + 1;
-        }
-
-        return books;
+        return new BufferedReader(new InputStreamReader(zipFile.getInputStream(jsonEntry), StandardCharsets.UTF_8));
     }
 
     /**
-     * Parse a single book from JSON string.
+     * Advance the reader to the first element of the top-level "books" array.
+     * Returns false if the document has no such array.
      */
-    private Book parseBook(String json) throws Exception {
-        Book book = new Book();
-
-        book.setTitle(extractStringValue(json, "title"));
-        book.setSubtitle(extractStringValue(json, "subtitle"));
-        book.setIsbn10(extractStringValue(json, "isbn10"));
-        book.setIsbn13(extractStringValue(json, "isbn13"));
-        book.setPublisher(extractStringValue(json, "publisher"));
-        book.setShelfLocation(extractStringValue(json, "shelfLocation"));
-        book.setTags(extractStringValue(json, "tags"));
-        book.setFormat(extractStringValue(json, "format"));
-        book.setLanguage(extractStringValue(json, "language"));
-        book.setNotes(extractStringValue(json, "notes"));
-        book.setPhysicalLocation(extractStringValue(json, "physicalLocation"));
-        book.setAmazonAsin(extractStringValue(json, "amazonAsin"));
-        book.setCoverImagePath(extractStringValue(json, "coverImagePath"));
-        book.setBorrowedTo(extractStringValue(json, "borrowedTo"));
-
-        String yearStr = extractStringValue(json, "yearPublished");
-        if (yearStr != null && !yearStr.isEmpty()) {
-            book.setYearPublished(Integer.parseInt(yearStr));
-        }
-
-        String ratingStr = extractStringValue(json, "rating");
-        if (ratingStr != null && !ratingStr.isEmpty()) {
-            book.setRating(Integer.parseInt(ratingStr));
-        }
-
-        String isReadStr = extractStringValue(json, "isRead");
-        book.setRead("true".equals(isReadStr));
-
-        String isBorrowedStr = extractStringValue(json, "isBorrowed");
-        book.setBorrowed("true".equals(isBorrowedStr));
-
-        String dateAddedStr = extractStringValue(json, "dateAdded");
-        if (dateAddedStr != null && !dateAddedStr.isEmpty()) {
-            book.setDateAdded(LocalDateTime.parse(dateAddedStr, DATE_FORMATTER));
-        }
-
-        String borrowedDateStr = extractStringValue(json, "borrowedDate");
-        if (borrowedDateStr != null && !borrowedDateStr.isEmpty()) {
-            book.setBorrowedDate(LocalDateTime.parse(borrowedDateStr, DATE_FORMATTER));
-        }
-
-        // Parse category
-        String categoryName = extractStringValue(json, "category");
-        if (categoryName != null && !categoryName.isEmpty()) {
-            Category category = new Category();
-            category.setName(categoryName);
-            book.setCategory(category);
-        }
-
-        // Parse authors
-        List<String> authorNames = extractStringArray(json, "authors");
-        for (String authorName : authorNames) {
-            Author author = new Author();
-            author.setName(authorName);
-            book.getAuthors().add(author);
+    private boolean skipToBooksArray(JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("books".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                return true;
+            }
+            reader.skipValue();
         }
-
-        return book;
+        return false;
     }
 
     /**
-     * Extract string value from JSON.
+     * Read a single book object from the reader.
+     * The whole object is consumed before values are converted, so a book with
+     * an invalid value leaves the reader positioned at the next book.
      */
-    private String extractStringValue(String json, String key) {
-        String pattern = "\"" + key + "\"";
-        int keyPos = json.indexOf(pattern);
-        if (keyPos == -1) return null;
-
-        // Find the colon after the key
-        int colonPos = json.indexOf(':', keyPos + pattern.length());
-        if (colonPos == -1) return null;
-
-        // Find the opening quote after the colon
-        int start = -1;
-        for (int i = colonPos + 1; i < json.length(); i++) {
-            char c = json.charAt(i);
-            if (c == '"') {
-                start = i + 1;
-                break;
-            } else if (!Character.isWhitespace(c)) {
-                // Non-quote, non-whitespace character found (e.g., null, number, boolean)
-                return null;
+    private Book readBook(JsonReader reader) throws IOException {
+        Book book = new Book();
+        String yearStr = null;
+        String ratingStr = null;
+        String dateAddedStr = null;
+        String borrowedDateStr = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case "title" -> book.setTitle(nextString(reader));
+                case "subtitle" -> book.setSubtitle(nextString(reader));
+                case "isbn10" -> book.setIsbn10(nextString(reader));
+                case "isbn13" -> book.setIsbn13(nextString(reader));
+                case "publisher" -> book.setPublisher(nextString(reader));
+                case "shelfLocation" -> book.setShelfLocation(nextString(reader));
+                case "tags" -> book.setTags(nextString(reader));
+                case "format" -> book.setFormat(nextString(reader));
+                case "language" -> book.setLanguage(nextString(reader));
+                case "notes" -> book.setNotes(nextString(reader));
+                case "physicalLocation" -> book.setPhysicalLocation(nextString(reader));
+                case "amazonAsin" -> book.setAmazonAsin(nextString(reader));
+                case "coverImagePath" -> book.setCoverImagePath(nextString(reader));
+                case "borrowedTo" -> book.setBorrowedTo(nextString(reader));
+                case "yearPublished" -> yearStr = nextString(reader);
+                case "rating" -> ratingStr = nextString(reader);
+                case "isRead" -> book.setRead("true".equals(nextString(reader)));
+                case "isBorrowed" -> book.setBorrowed("true".equals(nextString(reader)));
+                case "dateAdded" -> dateAddedStr = nextString(reader);
+                case "borrowedDate" -> borrowedDateStr = nextString(reader);
+                case "category" -> {
+                    String categoryName = nextString(reader);
+                    if (categoryName != null && !categoryName.isEmpty()) {
+                        Category category = new Category();
+                        category.setName(categoryName);
+                        book.setCategory(category);
+                    }
+                }
+                case "authors" -> readAuthors(reader, book);
+                default -> reader.skipValue();
             }
         }
+        reader.endObject();
 
-        if (start == -1) return null;
-
-        // Find the closing quote
-        int end = start;
-        while (end < json.length()) {
-            if (json.charAt(end) == '"' && (end == start || json.charAt(end - 1) != '\\')) {
-                break;
+        try {
+            if (yearStr != null && !yearStr.isEmpty()) {
+                book.setYearPublished(Integer.parseInt(yearStr));
             }
-            end++;
-        }
-
-        if (end >= json.length()) return null;
-
-        String value = json.substring(start, end);
-        return unescapeJson(value);
-    }
-
-    /**
-     * Extract string array from JSON.
-     */
-    private List<String> extractStringArray(String json, String key) {
-        List<String> result = new ArrayList<>();
-
-        String pattern = "\"" + key + "\"\\s*:\\s*\\[";
-        int start = json.indexOf(pattern);
-        if (start == -1) return result;
-
-        int arrayStart = json.indexOf('[', start);
-        int arrayEnd = findMatchingBracket(json, arrayStart);
-
-        String arrayContent = json.substring(arrayStart + 1, arrayEnd);
-
-        int pos = 0;
-        while (pos < arrayContent.length()) {
-            int strStart = arrayContent.indexOf('"', pos);
-            if (strStart == -1) break;
-
-            int strEnd = strStart + 1;
-            while (strEnd < arrayContent.length()) {
-                if (arrayContent.charAt(strEnd) == '"' && arrayContent.charAt(strEnd - 1) != '\\') {
-                    break;
-                }
-                strEnd++;
+            if (ratingStr != null && !ratingStr.isEmpty()) {
+                book.setRating(Integer.parseInt(ratingStr));
             }
-
-            if (strEnd >= arrayContent.length()) break;
-
-            String value = arrayContent.substring(strStart + 1, strEnd);
-            result.add(unescapeJson(value));
-
-            pos = strEnd + 1;
+            if (dateAddedStr != null && !dateAddedStr.isEmpty()) {
+                book.setDateAdded(LocalDateTime.parse(dateAddedStr, DATE_FORMATTER));
+            }
+            if (borrowedDateStr != null && !borrowedDateStr.isEmpty()) {
+                book.setBorrowedDate(LocalDateTime.parse(borrowedDateStr, DATE_FORMATTER));
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("'" + (book.getTitle() != null ? book.getTitle() : "unknown") +
+                    "' has an invalid value: " + e.getMessage(), e);
         }
 
-        return result;
+        return book;
     }
 
     /**
-     * Find matching closing bracket.
+     * Read the author names of a book.
      */
-    private int findMatchingBracket(String str, int start) {
-        int count = 1;
-        for (int i = start + 1; i < str.length(); i++) {
-            if (str.charAt(i) == '[') count++;
-            else if (str.charAt(i) == ']') {
-                count--;
-                if (count == 0) return i;
+    private void readAuthors(JsonReader reader, Book book) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return;
+        }
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String authorName = nextString(reader);
+            if (authorName != null && !authorName.isEmpty()) {
+                Author author = new Author();
+                author.setName(authorName);
+                book.getAuthors().add(author);
             }
         }
-        return -1;
+        reader.endArray();
     }
 
     /**
-     * Find matching closing brace.
+     * Read a scalar value as a string; null, objects and arrays read as null.
      */
-    private int findMatchingBrace(String str, int start) {
-        int count = 1;
-        boolean inString = false;
-
-        for (int i = start + 1; i < str.length(); i++) {
-            char c = str.charAt(i);
-
-            if (c == '"' && str.charAt(i - 1) != '\\') {
-                inString = !inString;
-            }
-
-            if (!inString) {
-                if (c == '{') count++;
-                else if (c == '}') {
-                    count--;
-                    if (count == 0) return i;
-                }
-            }
+    private String nextString(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING, NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                reader.skipValue();
+                return null;
         }
-        return -1;
     }
 
     /**
@@ -609,15 +609,13 @@ public class ExportImportService {
     }
 
     /**
-     * Unescape JSON special characters.
+     * Existing books that match an imported batch by ISBN or title.
      */
-    private String unescapeJson(String str) {
-        if (str == null) return "";
-        return str.replace("\\\"", "\"")
-                  .replace("\\\\", "\\")
-                  .replace("\\n", "\n")
-                  .replace("\\r", "\r")
-                  .replace("\\t", "\t");
+    private static class ExistingBooks {
+        private final Set<String> isbn10s = new HashSet<>();
+        private final Set<String> isbn13s = new HashSet<>();
+        // Lower-case title -> books with that title
+        private final Map<String, List<Book>> byTitle = new HashMap<>();
     }
 
     /**
@@ -0,0 +1,181 @@
+package com.homelibrary.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service for generating pre-scaled cover thumbnails.
+ * Each cover gets one thumbnail per preview size, in a thumbnails directory next to it, so
+ * previews decode a small file instead of the original. Thumbnails are generated on a
+ * shared worker pool; until one exists, previews fall back to the original. Each thumbnail
+ * is written to a temporary file and moved into place, so a preview never reads a partly
+ * written one.
+ */
+public class ThumbnailService {
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailService.class);
+    private static final String THUMBNAILS_DIRECTORY = "thumbnails";
+
+    /** Size of the cover preview in the book list. */
+    public static final Size LIST_SIZE = new Size(200, 300);
+    /** Size of the cover preview in the book form. */
+    public static final Size FORM_SIZE = new Size(150, 200);
+    private static final Size[] SIZES = { LIST_SIZE, FORM_SIZE };
+
+    private static ThumbnailService instance;
+    private final ExecutorService workers;
+
+    private ThumbnailService() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "thumbnail-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized ThumbnailService getInstance() {
+        if (instance == null) {
+            instance = new ThumbnailService();
+        }
+        return instance;
+    }
+
+    /**
+     * Generate the thumbnails of a cover in the background. The future fails if the cover
+     * cannot be read or a thumbnail cannot be written.
+     */
+    public CompletableFuture<Void> generate(String imagePath) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                writeThumbnails(new File(imagePath));
+            } catch (IOException e) {
+                logger.warn("Failed to generate thumbnails for {}", imagePath, e);
+                throw new IllegalStateException("Failed to generate thumbnails for " + imagePath, e);
+            }
+        }, workers);
+    }
+
+    /**
+     * Get the file to show a cover from at the given size: its thumbnail when one is
+     * up to date, otherwise the original.
+     */
+    public static String resolve(String imagePath, Size size) {
+        File original = new File(imagePath);
+        File thumbnail = thumbnailFile(original, size);
+        if (thumbnail.isFile() && thumbnail.lastModified() >= original.lastModified()) {
+            return thumbnail.getPath();
+        }
+        return imagePath;
+    }
+
+    /**
+     * Delete the thumbnails of a cover.
+     */
+    public static void delete(String imagePath) {
+        for (Size size : SIZES) {
+            try {
+                Files.deleteIfExists(thumbnailFile(new File(imagePath), size).toPath());
+            } catch (IOException e) {
+                logger.warn("Failed to delete thumbnail of {}", imagePath, e);
+            }
+        }
+    }
+
+    /**
+     * Decode a cover once and write a thumbnail for each size, smallest last, in the format
+     * of the original.
+     */
+    private void writeThumbnails(File original) throws IOException {
+        BufferedImage image = ImageIO.read(original);
+        if (image == null) {
+            throw new IOException("Unsupported image format: " + original.getName());
+        }
+
+        String format = formatOf(original.getName());
+        for (Size size : SIZES) {
+            image = scaleToFit(image, size, format.equals("png") || format.equals("gif"));
+            Path thumbnail = thumbnailFile(original, size).toPath();
+            Files.createDirectories(thumbnail.getParent());
+            Path temporary = Files.createTempFile(thumbnail.getParent(), original.getName(), ".tmp");
+            try {
+                if (!ImageIO.write(image, format, temporary.toFile())) {
+                    throw new IOException("No image writer for format: " + format);
+                }
+                Files.move(temporary, thumbnail, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        logger.debug("Generated thumbnails for {}", original);
+    }
+
+    /**
+     * Scale an image down to fit the size, keeping its aspect ratio. Large reductions are
+     * done in halving steps, which keeps bilinear filtering sharp.
+     */
+    private static BufferedImage scaleToFit(BufferedImage image, Size size, boolean alpha) {
+        double scale = Math.min(1.0, Math.min((double) size.width / image.getWidth(),
+                                              (double) size.height / image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage scaled = image;
+        do {
+            int width = Math.max(targetWidth, scaled.getWidth() / 2);
+            int height = Math.max(targetHeight, scaled.getHeight() / 2);
+            BufferedImage step = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(scaled, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            scaled = step;
+        } while (scaled.getWidth() > targetWidth || scaled.getHeight() > targetHeight);
+        return scaled;
+    }
+
+    private static File thumbnailFile(File original, Size size) {
+        File directory = new File(original.getAbsoluteFile().getParentFile(), THUMBNAILS_DIRECTORY);
+        return new File(new File(directory, size.width + "x" + size.height), original.getName());
+    }
+
+    private static String formatOf(String fileName) {
+        int lastDot = fileName.lastIndexOf('.');
+        String extension = lastDot > 0 ? fileName.substring(lastDot + 1).toLowerCase() : "";
+        return switch (extension) {
+            case "jpg", "jpeg" -> "jpg";
+            case "gif" -> "gif";
+            default -> "png";
+        };
+    }
+
+    /**
+     * Bounding box of a thumbnail in pixels.
+     */
+    public static class Size {
+        public final int width;
+        public final int height;
+
+        public Size(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
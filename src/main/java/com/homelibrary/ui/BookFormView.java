@@ -5,6 +5,7 @@ import com.homelibrary.model.Book;
 import com.homelibrary.model.Category;
 import com.homelibrary.service.AmazonApiService;
 import com.homelibrary.service.BookService;
+import com.homelibrary.service.ThumbnailService;
 import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -31,6 +32,7 @@ import java.util.stream.Collectors;
  */
 public class BookFormView extends Dialog<Book> {
     private static final Logger logger = LoggerFactory.getLogger(BookFormView.class);
+    private static final ThumbnailService.Size COVER_SIZE = ThumbnailService.FORM_SIZE;
 
     private final MainApp mainApp;
     private final BookService bookService;
@@ -296,8 +298,8 @@ public class BookFormView extends Dialog<Book> {
         VBox coverBox = new VBox(10);
 
         coverImageView = new ImageView();
-        coverImageView.setFitWidth(150);
-        coverImageView.setFitHeight(200);
+        coverImageView.setFitWidth(COVER_SIZE.width);
+        coverImageView.setFitHeight(COVER_SIZE.height);
         coverImageView.setPreserveRatio(true);
 
         Button uploadButton = new Button("Upload Image");
@@ -388,17 +390,12 @@ public class BookFormView extends Dialog<Book> {
     }
 
     /**
-     * Load cover image into preview.
+     * Load cover image into preview, decoding it in the background at the preview size.
      */
     private void loadCoverImage(String imagePath) {
-        try {
-            File imageFile = new File(imagePath);
-            if (imageFile.exists()) {
-                Image image = new Image(imageFile.toURI().toString());
-                coverImageView.setImage(image);
-            }
-        } catch (Exception e) {
-            logger.error("Failed to load cover image", e);
+        Image image = CoverImageCache.getInstance().load(imagePath, COVER_SIZE);
+        if (image != null) {
+            coverImageView.setImage(image);
         }
     }
 
@@ -416,7 +413,7 @@ public class BookFormView extends Dialog<Book> {
         if (selectedFile != null) {
             try {
                 // Preview image
-                Image image = new Image(selectedFile.toURI().toString());
+                Image image = CoverImageCache.getInstance().load(selectedFile.getAbsolutePath(), COVER_SIZE);
                 coverImageView.setImage(image);
                 coverImagePath = selectedFile.getAbsolutePath();
             } catch (Exception e) {
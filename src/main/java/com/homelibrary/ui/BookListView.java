@@ -1,35 +1,62 @@
 package com.homelibrary.ui;
 
+import com.homelibrary.dao.BookPage;
+import com.homelibrary.dao.BookQuery;
+import com.homelibrary.dao.BookSort;
+import com.homelibrary.dao.QueryCancellation;
+import com.homelibrary.event.LibraryEvent;
+import com.homelibrary.event.LibraryEventBus;
 import com.homelibrary.model.Book;
 import com.homelibrary.model.Category;
 import com.homelibrary.service.BookService;
 import com.homelibrary.service.ConfigService;
 import com.homelibrary.service.ExportImportService;
+import com.homelibrary.service.ThumbnailService;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.*;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * View for displaying list of books in a table.
  */
 public class BookListView {
     private static final Logger logger = LoggerFactory.getLogger(BookListView.class);
+    private static final int PAGE_SIZE = 100;
+    private static final int CACHED_PAGES = 10;
+    private static final ThumbnailService.Size COVER_SIZE = ThumbnailService.LIST_SIZE;
+    private static final int PREFETCH_ROWS = 10;
 
     private final MainApp mainApp;
     private final BookService bookService;
@@ -38,8 +65,18 @@ public class BookListView {
     private final TableView<Book> bookTable;
     private final ObservableList<Book> bookData;
     private final ImageView coverImageView;
+    private final CoverImageCache coverCache = CoverImageCache.getInstance();
     private final Label statsLabel;
+    private final ProgressIndicator loadingIndicator;
+    private final ExecutorService loader;
     private ComboBox<Category> categoryFilter;
+    private Task<?> currentLoad;
+    private QueryCancellation currentCancellation;
+    private final BookQuery currentQuery = new BookQuery();
+    private BookSort currentSort = BookSort.UNSORTED;
+    private final Map<TableColumn<Book, ?>, BookSort.Column> sortColumns = new HashMap<>();
+    private Task<BookService.LibraryStats> currentStatsLoad;
+    private final Consumer<List<LibraryEvent>> libraryEventHandler = this::applyLibraryEvents;
 
     // Table columns for visibility control
     private TableColumn<Book, Integer> idCol;
@@ -66,11 +103,18 @@ public class BookListView {
         this.bookTable = new TableView<>();
         this.coverImageView = new ImageView();
         this.statsLabel = new Label();
+        this.loadingIndicator = new ProgressIndicator();
+        this.loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "book-list-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
 
         this.view = createView();
         loadBooks();
         updateStats();
         loadColumnVisibilityState();
+        LibraryEventBus.getInstance().subscribe(Platform::runLater, libraryEventHandler);
     }
 
     /**
@@ -109,12 +153,17 @@ public class BookListView {
         TextField searchField = new TextField();
         searchField.setPromptText("Search by title, author, ISBN, category, location, borrower...");
         searchField.setPrefWidth(350);
+
+        // Search once typing pauses; results of superseded queries are discarded right away
+        PauseTransition searchDelay = new PauseTransition(Duration.millis(configService.getSearchDebounceMillis()));
         searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            if (newValue == null || newValue.trim().isEmpty()) {
+            cancelCurrentLoad();
+            String text = newValue == null ? "" : newValue.trim();
+            searchDelay.setOnFinished(e -> {
+                currentQuery.setText(text.length() < configService.getSearchMinLength() ? null : text);
                 loadBooks();
-            } else {
-                searchBooks(newValue.trim());
-            }
+            });
+            searchDelay.playFromStart();
         });
 
         // Buttons
@@ -145,14 +194,16 @@ public class BookListView {
         loadCategoryFilter(categoryFilter);
         categoryFilter.setOnAction(e -> {
             Category selected = categoryFilter.getValue();
-            filterByCategory(selected);
+            currentQuery.setCategoryId(selected != null ? selected.getId() : null);
+            loadBooks();
         });
 
         // Clear category filter button
         Button clearCategoryButton = new Button("Clear");
         clearCategoryButton.setOnAction(e -> {
             categoryFilter.setValue(null);
-            filterByCategory(null);
+            currentQuery.setCategoryId(null);
+            loadBooks();
         });
 
         // Filter by read status
@@ -161,7 +212,8 @@ public class BookListView {
         readStatusFilter.setValue("All Books");
         readStatusFilter.setOnAction(e -> {
             String selected = readStatusFilter.getValue();
-            filterByReadStatus(selected);
+            currentQuery.setRead("Read".equals(selected) ? Boolean.TRUE : "Unread".equals(selected) ? Boolean.FALSE : null);
+            loadBooks();
         });
 
         // Filter by borrowed status
@@ -170,7 +222,8 @@ public class BookListView {
         borrowedStatusFilter.setValue("All");
         borrowedStatusFilter.setOnAction(e -> {
             String selected = borrowedStatusFilter.getValue();
-            filterByBorrowedStatus(selected);
+            currentQuery.setBorrowed("Borrowed".equals(selected) ? Boolean.TRUE : "Available".equals(selected) ? Boolean.FALSE : null);
+            loadBooks();
         });
 
         // First row: Search and action buttons
@@ -217,6 +270,17 @@ public class BookListView {
         // Configure table
         bookTable.setItems(bookData);
         bookTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        bookTable.addEventHandler(ScrollEvent.SCROLL, e -> prefetchCovers());
+
+        // Header clicks re-run the current query with an ORDER BY instead of sorting rows in memory
+        bookTable.setSortPolicy(table -> {
+            BookSort sort = toBookSort(table.getSortOrder());
+            if (!sort.equals(currentSort)) {
+                currentSort = sort;
+                loadBooks();
+            }
+            return true;
+        });
 
         // ID column
         idCol = new TableColumn<>("ID");
@@ -234,6 +298,7 @@ public class BookListView {
         authorsCol.setCellValueFactory(cellData ->
             new SimpleStringProperty(cellData.getValue().getAuthorsString()));
         authorsCol.setPrefWidth(200);
+        authorsCol.setSortable(false);
 
         // ISBN column
         isbnCol = new TableColumn<>("ISBN");
@@ -264,8 +329,10 @@ public class BookListView {
 
         // Read status column
         readCol = new TableColumn<>("Read");
-        readCol.setCellValueFactory(cellData ->
-            new SimpleStringProperty(cellData.getValue().isRead() ? "Yes" : "No"));
+        readCol.setCellValueFactory(cellData -> {
+            Book book = cellData.getValue();
+            return new SimpleStringProperty(PagedBookList.isPlaceholder(book) ? "" : book.isRead() ? "Yes" : "No");
+        });
         readCol.setPrefWidth(60);
 
         // Rating column
@@ -295,8 +362,10 @@ public class BookListView {
 
         // Borrowed Status column
         borrowedStatusCol = new TableColumn<>("Borrowed");
-        borrowedStatusCol.setCellValueFactory(cellData ->
-            new SimpleStringProperty(cellData.getValue().isBorrowed() ? "Yes" : "No"));
+        borrowedStatusCol.setCellValueFactory(cellData -> {
+            Book book = cellData.getValue();
+            return new SimpleStringProperty(PagedBookList.isPlaceholder(book) ? "" : book.isBorrowed() ? "Yes" : "No");
+        });
         borrowedStatusCol.setPrefWidth(80);
 
         // Borrowed To column
@@ -310,9 +379,27 @@ public class BookListView {
             tagsCol, formatCol, readCol, ratingCol
         );
 
+        sortColumns.put(idCol, BookSort.Column.ID);
+        sortColumns.put(titleCol, BookSort.Column.TITLE);
+        sortColumns.put(isbnCol, BookSort.Column.ISBN);
+        sortColumns.put(publisherCol, BookSort.Column.PUBLISHER);
+        sortColumns.put(yearCol, BookSort.Column.YEAR);
+        sortColumns.put(categoryCol, BookSort.Column.CATEGORY);
+        sortColumns.put(shelfCol, BookSort.Column.SHELF);
+        sortColumns.put(physicalLocationCol, BookSort.Column.PHYSICAL_LOCATION);
+        sortColumns.put(borrowedStatusCol, BookSort.Column.BORROWED);
+        sortColumns.put(borrowedToCol, BookSort.Column.BORROWED_TO);
+        sortColumns.put(tagsCol, BookSort.Column.TAGS);
+        sortColumns.put(formatCol, BookSort.Column.FORMAT);
+        sortColumns.put(readCol, BookSort.Column.READ);
+        sortColumns.put(ratingCol, BookSort.Column.RATING);
+
         // Selection listener to update cover preview
         bookTable.getSelectionModel().selectedItemProperty().addListener(
-            (observable, oldValue, newValue) -> updateCoverPreview(newValue)
+            (observable, oldValue, newValue) -> {
+                updateCoverPreview(newValue);
+                prefetchCovers();
+            }
         );
 
         // Double-click to edit
@@ -340,8 +427,8 @@ public class BookListView {
         Label coverLabel = new Label("Cover Preview");
         coverLabel.setStyle("-fx-font-weight: bold;");
 
-        coverImageView.setFitWidth(200);
-        coverImageView.setFitHeight(300);
+        coverImageView.setFitWidth(COVER_SIZE.width);
+        coverImageView.setFitHeight(COVER_SIZE.height);
         coverImageView.setPreserveRatio(true);
 
         panel.getChildren().addAll(coverLabel, coverImageView);
@@ -360,76 +447,120 @@ public class BookListView {
 
         statsLabel.setText("Total books: 0");
 
-        bottomBar.getChildren().add(statsLabel);
+        loadingIndicator.setPrefSize(16, 16);
+        loadingIndicator.setVisible(false);
+
+        bottomBar.getChildren().addAll(statsLabel, loadingIndicator);
 
         return bottomBar;
     }
 
     /**
-     * Load all books from database.
+     * Run a query in the background and pass its result to the given action on the FX thread.
+     * A newer query cancels the one in flight, so only the latest result is shown; its JDBC
+     * statement is cancelled too when a cancellation handle is given.
      */
-    private void loadBooks() {
-        try {
-            List<Book> books = bookService.getAllBooks();
-            bookData.setAll(books);
-            logger.info("Loaded {} books", books.size());
-        } catch (SQLException e) {
-            logger.error("Failed to load books", e);
-            mainApp.showErrorAlert("Error", "Failed to load books: " + e.getMessage());
+    private <T> void loadInBackground(String failureMessage, QueryCancellation cancellation,
+                                      Callable<T> query, Consumer<T> onLoaded) {
+        cancelCurrentLoad();
+        currentCancellation = cancellation;
+
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return query.call();
+            }
+        };
+        currentLoad = task;
+
+        // Task handlers run on the FX Application Thread
+        task.setOnSucceeded(e -> {
+            if (task == currentLoad) {
+                onLoaded.accept(task.getValue());
+                loadingIndicator.setVisible(false);
+            }
+        });
+        task.setOnFailed(e -> {
+            if (task == currentLoad) {
+                loadingIndicator.setVisible(false);
+                logger.error(failureMessage, task.getException());
+                mainApp.showErrorAlert("Error", failureMessage + ": " + task.getException().getMessage());
+            }
+        });
+
+        loadingIndicator.setVisible(true);
+        loader.submit(task);
+    }
+
+    /**
+     * Cancel the book query in flight, if any.
+     */
+    private void cancelCurrentLoad() {
+        if (currentLoad != null) {
+            currentLoad.cancel();
+            currentLoad = null;
+            loadingIndicator.setVisible(false);
+        }
+        if (currentCancellation != null) {
+            currentCancellation.cancel();
+            currentCancellation = null;
         }
     }
 
     /**
-     * Search books.
+     * Show a fully loaded list of books in the table.
      */
-    private void searchBooks(String query) {
-        try {
-            List<Book> books = bookService.searchBooks(query);
-            bookData.setAll(books);
-            logger.info("Found {} books matching '{}'", books.size(), query);
-        } catch (SQLException e) {
-            logger.error("Failed to search books", e);
-            mainApp.showErrorAlert("Error", "Failed to search books: " + e.getMessage());
+    private void showBooks(List<Book> books) {
+        if (bookTable.getItems() != bookData) {
+            bookTable.setItems(bookData);
         }
+        bookData.setAll(books);
     }
 
     /**
-     * Filter books by read status.
+     * Show the matching books in the table, loading further pages as rows are scrolled into view.
      */
-    private void filterByReadStatus(String status) {
-        try {
-            List<Book> books;
-            if ("Read".equals(status)) {
-                books = bookService.getBooksByReadStatus(true);
-            } else if ("Unread".equals(status)) {
-                books = bookService.getBooksByReadStatus(false);
-            } else {
-                books = bookService.getAllBooks();
+    private void showPagedBooks(BookQuery query, BookPage firstPage, BookSort sort) {
+        bookData.clear();
+        bookTable.setItems(new PagedBookList(bookService, query, firstPage, sort, PAGE_SIZE, CACHED_PAGES, loader,
+            bookTable::refresh));
+    }
+
+    /**
+     * Convert the table's sort order into a sort specification for the database.
+     */
+    private BookSort toBookSort(List<TableColumn<Book, ?>> sortOrder) {
+        List<BookSort.Key> keys = new ArrayList<>();
+        for (TableColumn<Book, ?> column : sortOrder) {
+            BookSort.Column sortColumn = sortColumns.get(column);
+            if (sortColumn != null) {
+                keys.add(new BookSort.Key(sortColumn, column.getSortType() == TableColumn.SortType.ASCENDING));
             }
-            bookData.setAll(books);
-        } catch (SQLException e) {
-            logger.error("Failed to filter books", e);
-            mainApp.showErrorAlert("Error", "Failed to filter books: " + e.getMessage());
         }
+        return BookSort.of(keys);
     }
 
     /**
-     * Filter books by borrowed status.
+     * Load the books matching the current search text and filters in the current order.
+     * Text searches without a sort are ranked by relevance and loaded in full; everything
+     * else is paged, so only the first page is read up front.
      */
-    private void filterByBorrowedStatus(String status) {
-        try {
-            List<Book> books;
-            if ("Borrowed".equals(status)) {
-                books = bookService.getBooksByBorrowedStatus(true);
-            } else if ("Available".equals(status)) {
-                books = bookService.getBooksByBorrowedStatus(false);
-            } else {
-                books = bookService.getAllBooks();
-            }
-            bookData.setAll(books);
-        } catch (SQLException e) {
-            logger.error("Failed to filter books by borrowed status", e);
-            mainApp.showErrorAlert("Error", "Failed to filter books: " + e.getMessage());
+    private void loadBooks() {
+        BookQuery query = new BookQuery(currentQuery);
+        BookSort sort = currentSort;
+        QueryCancellation cancellation = new QueryCancellation();
+        if (query.getText() != null && sort.isEmpty()) {
+            loadInBackground("Failed to search books", cancellation, () -> {
+                List<Book> books = bookService.findBooks(query, sort, cancellation);
+                logger.info("Found {} books matching '{}'", books.size(), query.getText());
+                return books;
+            }, this::showBooks);
+        } else {
+            loadInBackground("Failed to load books", cancellation, () -> {
+                BookPage firstPage = bookService.getBookPage(query, null, PAGE_SIZE, sort, cancellation);
+                logger.info("Loaded first page of {} books", firstPage.getTotalCount());
+                return firstPage;
+            }, firstPage -> showPagedBooks(query, firstPage, sort));
         }
     }
 
@@ -468,43 +599,51 @@ public class BookListView {
     }
 
     /**
-     * Filter books by category.
+     * Update cover preview for selected book. The thumbnail is decoded in the background,
+     * and a cover still loading for the previous selection is cancelled.
      */
-    private void filterByCategory(Category category) {
-        try {
-            List<Book> books;
-            if (category != null && category.getId() != null) {
-                books = bookService.getBooksByCategory(category.getId());
-            } else {
-                books = bookService.getAllBooks();
-            }
-            bookData.setAll(books);
-        } catch (SQLException e) {
-            logger.error("Failed to filter books by category", e);
-            mainApp.showErrorAlert("Error", "Failed to filter books: " + e.getMessage());
+    private void updateCoverPreview(Book book) {
+        Image previous = coverImageView.getImage();
+        Image image = book == null || book.getCoverImagePath() == null
+            ? null
+            : coverCache.load(book.getCoverImagePath(), COVER_SIZE);
+        if (previous != image) {
+            coverCache.cancel(previous);
         }
+        coverImageView.setImage(image);
     }
 
     /**
-     * Update cover preview for selected book.
+     * Warm the cover cache for the rows around the selection, nearest first, and for the rows
+     * in view, so that moving through the list shows covers without waiting for them.
      */
-    private void updateCoverPreview(Book book) {
-        if (book == null || book.getCoverImagePath() == null) {
-            coverImageView.setImage(null);
-            return;
+    private void prefetchCovers() {
+        List<Book> items = bookTable.getItems();
+        Set<String> paths = new LinkedHashSet<>();
+        int selected = bookTable.getSelectionModel().getSelectedIndex();
+        if (selected >= 0) {
+            for (int distance = 1; distance <= PREFETCH_ROWS; distance++) {
+                addCoverPath(paths, items, selected + distance);
+                addCoverPath(paths, items, selected - distance);
+            }
         }
 
-        try {
-            File imageFile = new File(book.getCoverImagePath());
-            if (imageFile.exists()) {
-                Image image = new Image(imageFile.toURI().toString());
-                coverImageView.setImage(image);
-            } else {
-                coverImageView.setImage(null);
+        if (bookTable.lookup(".virtual-flow") instanceof VirtualFlow<?> flow
+                && flow.getFirstVisibleCell() != null && flow.getLastVisibleCell() != null) {
+            for (int i = flow.getFirstVisibleCell().getIndex(); i <= flow.getLastVisibleCell().getIndex(); i++) {
+                addCoverPath(paths, items, i);
+            }
+        }
+
+        coverCache.prefetch(paths, COVER_SIZE);
+    }
+
+    private void addCoverPath(Set<String> paths, List<Book> items, int index) {
+        if (index >= 0 && index < items.size()) {
+            Book book = items.get(index);
+            if (book != null && book.getCoverImagePath() != null) {
+                paths.add(book.getCoverImagePath());
             }
-        } catch (Exception e) {
-            logger.error("Failed to load cover image", e);
-            coverImageView.setImage(null);
         }
     }
 
@@ -512,12 +651,65 @@ public class BookListView {
      * Update statistics label.
      */
     private void updateStats() {
-        try {
-            BookService.LibraryStats stats = bookService.getLibraryStats();
+        if (currentStatsLoad != null) {
+            currentStatsLoad.cancel();
+        }
+
+        Task<BookService.LibraryStats> task = new Task<>() {
+            @Override
+            protected BookService.LibraryStats call() throws Exception {
+                return bookService.getLibraryStats();
+            }
+        };
+        currentStatsLoad = task;
+
+        task.setOnSucceeded(e -> {
+            BookService.LibraryStats stats = task.getValue();
             statsLabel.setText(stats.toString());
-        } catch (SQLException e) {
-            logger.error("Failed to get statistics", e);
+            statsLabel.setTooltip(new Tooltip(
+                formatBreakdown("Categories", stats.booksByCategory)
+                    + formatBreakdown("Formats", stats.booksByFormat)
+                    + formatBreakdown("Languages", stats.booksByLanguage)
+                    + String.format("Book cache hit ratio: %.0f%%", bookService.getBookCacheHitRatio() * 100)));
+        });
+        task.setOnFailed(e -> logger.error("Failed to get statistics", task.getException()));
+        loader.submit(task);
+    }
+
+    /**
+     * Handle rebuild statistics menu item.
+     */
+    public void handleRebuildStatistics() {
+        Task<Boolean> task = new Task<>() {
+            @Override
+            protected Boolean call() throws Exception {
+                return bookService.rebuildLibraryStats();
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            updateStats();
+            mainApp.showInfoAlert("Statistics Rebuilt", task.getValue()
+                ? "Library statistics were already up to date."
+                : "Library statistics were out of date and have been rebuilt.");
+        });
+        task.setOnFailed(e -> {
+            logger.error("Failed to rebuild statistics", task.getException());
+            mainApp.showErrorAlert("Error", "Failed to rebuild statistics: " + task.getException().getMessage());
+        });
+        loader.submit(task);
+    }
+
+    /**
+     * Format book counts per value as a block of tooltip lines.
+     */
+    private String formatBreakdown(String heading, Map<String, Integer> counts) {
+        StringBuilder text = new StringBuilder(heading).append(':');
+        if (counts.isEmpty()) {
+            text.append(" none");
         }
+        counts.forEach((name, count) -> text.append("\n  ").append(name).append(": ").append(count));
+        return text.append('\n').toString();
     }
 
     /**
@@ -528,7 +720,6 @@ public class BookListView {
             BookFormView dialog = new BookFormView(mainApp, null);
             Optional<Book> result = dialog.showAndWait();
             if (result.isPresent()) {
-                refreshBooks();
                 logger.info("Book added successfully: {}", result.get().getTitle());
             }
         } catch (Exception e) {
@@ -542,7 +733,7 @@ public class BookListView {
      */
     public void handleEditBook() {
         Book selectedBook = bookTable.getSelectionModel().getSelectedItem();
-        if (selectedBook == null) {
+        if (selectedBook == null || PagedBookList.isPlaceholder(selectedBook)) {
             mainApp.showInfoAlert("No Selection", "Please select a book to edit.");
             return;
         }
@@ -551,7 +742,6 @@ public class BookListView {
             BookFormView dialog = new BookFormView(mainApp, selectedBook);
             Optional<Book> result = dialog.showAndWait();
             if (result.isPresent()) {
-                refreshBooks();
                 logger.info("Book updated successfully: {}", result.get().getTitle());
             }
         } catch (Exception e) {
@@ -565,7 +755,7 @@ public class BookListView {
      */
     public void handleDeleteBook() {
         Book selectedBook = bookTable.getSelectionModel().getSelectedItem();
-        if (selectedBook == null) {
+        if (selectedBook == null || PagedBookList.isPlaceholder(selectedBook)) {
             mainApp.showInfoAlert("No Selection", "Please select a book to delete.");
             return;
         }
@@ -578,7 +768,6 @@ public class BookListView {
         if (confirmed) {
             try {
                 bookService.deleteBook(selectedBook.getId());
-                refreshBooks();
                 mainApp.showInfoAlert("Success", "Book deleted successfully!");
             } catch (SQLException e) {
                 logger.error("Failed to delete book", e);
@@ -587,6 +776,104 @@ public class BookListView {
         }
     }
 
+    /**
+     * Apply library changes on the FX thread. Changed rows are patched in place instead of
+     * reloading the list, so the table keeps its scroll position and only those rows are
+     * redrawn; bulk imports and renamed or deleted authors and categories reload the list.
+     * A paged list that is filtered or not sorted by ID is recounted and its pages reloaded,
+     * as the database decides which books match and where they go.
+     */
+    private void applyLibraryEvents(List<LibraryEvent> events) {
+        boolean paged = bookTable.getItems() instanceof PagedBookList;
+        boolean reload = false;
+        boolean categoriesChanged = false;
+        for (LibraryEvent event : events) {
+            if (event.getEntity() == LibraryEvent.Entity.BOOK) {
+                // Whether new books match a search is decided by the database
+                reload |= event.getType() == LibraryEvent.Type.BULK_IMPORTED
+                    || (!paged && event.getType() == LibraryEvent.Type.CREATED);
+            } else {
+                categoriesChanged |= event.getEntity() == LibraryEvent.Entity.CATEGORY;
+                // Rows show author and category names
+                reload |= event.getType() != LibraryEvent.Type.CREATED;
+            }
+        }
+
+        if (reload) {
+            loadBooks();
+        } else {
+            boolean moved = false;
+            PagedBookList recount = null;
+            for (LibraryEvent event : events) {
+                if (event.getEntity() != LibraryEvent.Entity.BOOK) {
+                    continue;
+                }
+                if (bookTable.getItems() instanceof PagedBookList pagedBooks && !pagedBooks.canPatch()) {
+                    recount = pagedBooks;
+                } else {
+                    moved |= applyBookEvent(event);
+                }
+            }
+            if (recount != null) {
+                recount.reload();
+            } else if (moved && paged) {
+                // Rows after the change moved, so the visible ones are read again
+                bookTable.refresh();
+            }
+        }
+
+        if (categoriesChanged) {
+            loadCategoryFilter(categoryFilter);
+        }
+        updateCoverPreview(bookTable.getSelectionModel().getSelectedItem());
+        updateStats();
+    }
+
+    /**
+     * Patch the rows of created, updated or deleted books.
+     * Returns whether rows were added or removed.
+     */
+    private boolean applyBookEvent(LibraryEvent event) {
+        if (bookTable.getItems() instanceof PagedBookList pagedBooks) {
+            switch (event.getType()) {
+                case CREATED -> pagedBooks.insert(event.getIds().size());
+                case UPDATED -> pagedBooks.update(event.getBooks());
+                case DELETED -> pagedBooks.remove(event.getIds());
+                default -> {
+                    return false;
+                }
+            }
+        } else {
+            switch (event.getType()) {
+                case UPDATED -> replaceBooks(event.getBooks());
+                case DELETED -> {
+                    Set<Integer> ids = new HashSet<>(event.getIds());
+                    bookData.removeIf(book -> ids.contains(book.getId()));
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+        return event.getType() != LibraryEvent.Type.UPDATED;
+    }
+
+    /**
+     * Replace updated books in the fully loaded list, keeping their rows where they are.
+     */
+    private void replaceBooks(List<Book> books) {
+        Map<Integer, Book> byId = new HashMap<>();
+        for (Book book : books) {
+            byId.put(book.getId(), book);
+        }
+        for (int i = 0; i < bookData.size() && !byId.isEmpty(); i++) {
+            Book book = byId.remove(bookData.get(i).getId());
+            if (book != null) {
+                bookData.set(i, book);
+            }
+        }
+    }
+
     /**
      * Refresh book list.
      */
@@ -596,6 +883,15 @@ public class BookListView {
         loadCategoryFilter(categoryFilter);
     }
 
+    /**
+     * Stop background loading; called when the application exits.
+     */
+    public void shutdown() {
+        coverCache.shutdown();
+        LibraryEventBus.getInstance().unsubscribe(libraryEventHandler);
+        loader.shutdownNow();
+    }
+
     /**
      * Show column customization dialog.
      */
@@ -895,9 +1191,6 @@ public class BookListView {
                 alert.setContentText(message.toString());
                 alert.showAndWait();
 
-                // Refresh the book list
-                refreshBooks();
-
                 logger.info("Imported library from: {}", file.getAbsolutePath());
             } catch (Exception ex) {
                 logger.error("Failed to import library", ex);
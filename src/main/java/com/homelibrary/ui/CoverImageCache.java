@@ -0,0 +1,184 @@
+package com.homelibrary.ui;
+
+import com.homelibrary.service.ConfigService;
+import com.homelibrary.service.ThumbnailService;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LRU cache of cover thumbnails decoded at the size they are shown, shared by all views.
+ * Covers are decoded in the background, so the FX thread never waits for a file, and
+ * each decoded image is weighed at 4 bytes per pixel against the configured memory limit.
+ * Covers likely to be shown next can be prefetched on a few low-priority threads.
+ * Only used from the FX thread, where background images report their progress.
+ */
+final class CoverImageCache {
+    private static final Logger logger = LoggerFactory.getLogger(CoverImageCache.class);
+    private static final int PREFETCH_THREADS = 2;
+
+    private static CoverImageCache instance;
+    private final long maxWeight;
+    private final Map<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+    private final ThreadPoolExecutor prefetcher;
+    // Covers queued or decoding for a prefetch
+    private final Set<String> prefetching = new HashSet<>();
+    private long weight;
+
+    private CoverImageCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+        this.prefetcher = new ThreadPoolExecutor(PREFETCH_THREADS, PREFETCH_THREADS, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "cover-prefetch");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+    }
+
+    static synchronized CoverImageCache getInstance() {
+        if (instance == null) {
+            instance = new CoverImageCache(ConfigService.getInstance().getCoverCacheSizeKb() * 1024L);
+        }
+        return instance;
+    }
+
+    /**
+     * Get a cover scaled to fit the given size, keeping its aspect ratio, from its thumbnail
+     * for that size when there is one. A cached image is returned as is; otherwise decoding
+     * starts in the background and the returned image fills in when done. Returns null when
+     * the file does not exist.
+     */
+    Image load(String path, ThumbnailService.Size size) {
+        File file = new File(ThumbnailService.resolve(path, size));
+        if (!file.isFile()) {
+            return null;
+        }
+
+        String key = key(file, size);
+        Image cached = images.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Image image = new Image(file.toURI().toString(), size.width, size.height, true, true, true);
+        image.progressProperty().addListener((observable, oldProgress, progress) -> {
+            if (progress.doubleValue() >= 1 && !image.isError()) {
+                put(key, image);
+            }
+        });
+        image.errorProperty().addListener((observable, wasError, isError) -> {
+            if (isError && image.getException() != null) {
+                logger.warn("Failed to load cover image {}", path, image.getException());
+            }
+        });
+        return image;
+    }
+
+    /**
+     * Stop decoding an image that is no longer wanted; images already decoded are unaffected.
+     */
+    void cancel(Image image) {
+        if (image != null && image.getProgress() < 1) {
+            image.cancel();
+        }
+    }
+
+    /**
+     * Decode covers that are likely to be shown next in the background, in the given order.
+     * Covers still queued from an earlier call are dropped, so the latest request goes first
+     * and only a few covers are decoded at a time.
+     */
+    void prefetch(Collection<String> paths, ThumbnailService.Size size) {
+        if (maxWeight == 0) {
+            return;
+        }
+
+        List<Runnable> dropped = new ArrayList<>();
+        prefetcher.getQueue().drainTo(dropped);
+        for (Runnable task : dropped) {
+            prefetching.remove(((Prefetch) task).key);
+        }
+
+        for (String path : paths) {
+            File file = new File(ThumbnailService.resolve(path, size));
+            String key = key(file, size);
+            if (images.containsKey(key) || !file.isFile() || !prefetching.add(key)) {
+                continue;
+            }
+            prefetcher.execute(new Prefetch(key, file, size));
+        }
+    }
+
+    /**
+     * Stop prefetching; called when the application exits.
+     */
+    void shutdown() {
+        prefetcher.shutdownNow();
+    }
+
+    // A replaced cover file gets a new modification time and so a new entry
+    private static String key(File file, ThumbnailService.Size size) {
+        return file.getAbsolutePath() + '|' + file.lastModified() + '|' + size.width + 'x' + size.height;
+    }
+
+    private void put(String key, Image image) {
+        long imageWeight = weigh(image);
+        if (imageWeight > maxWeight) {
+            return;
+        }
+
+        Image previous = images.put(key, image);
+        weight += imageWeight - (previous != null ? weigh(previous) : 0);
+
+        Iterator<Image> eldest = images.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= weigh(eldest.next());
+            eldest.remove();
+        }
+    }
+
+    private static long weigh(Image image) {
+        return Math.round(image.getWidth() * image.getHeight() * 4);
+    }
+
+    /**
+     * Decodes one cover on a prefetch thread and caches it on the FX thread.
+     */
+    private final class Prefetch implements Runnable {
+        private final String key;
+        private final File file;
+        private final ThumbnailService.Size size;
+
+        Prefetch(String key, File file, ThumbnailService.Size size) {
+            this.key = key;
+            this.file = file;
+            this.size = size;
+        }
+
+        @Override
+        public void run() {
+            Image image = new Image(file.toURI().toString(), size.width, size.height, true, true, false);
+            Platform.runLater(() -> {
+                prefetching.remove(key);
+                if (!image.isError()) {
+                    put(key, image);
+                }
+            });
+        }
+    }
+}
@@ -69,13 +69,20 @@ public class MainApp extends Application {
             }
         });
 
+        MenuItem rebuildStatsItem = new MenuItem("Rebuild Statistics");
+        rebuildStatsItem.setOnAction(e -> {
+            if (bookListView != null) {
+                bookListView.handleRebuildStatistics();
+            }
+        });
+
         MenuItem exitItem = new MenuItem("Exit");
         exitItem.setOnAction(e -> {
             cleanup();
             primaryStage.close();
         });
 
-        fileMenu.getItems().addAll(refreshItem, new SeparatorMenuItem(), exitItem);
+        fileMenu.getItems().addAll(refreshItem, rebuildStatsItem, new SeparatorMenuItem(), exitItem);
 
         // Book menu
         Menu bookMenu = new Menu("Book");
@@ -193,6 +200,10 @@ public class MainApp extends Application {
      * Cleanup resources.
      */
     private void cleanup() {
+        if (bookListView != null) {
+            bookListView.shutdown();
+        }
+
         try {
             Database.getInstance().close();
             logger.info("Database connection closed");
@@ -0,0 +1,402 @@
+package com.homelibrary.ui;
+
+import com.homelibrary.dao.BookPage;
+import com.homelibrary.dao.BookQuery;
+import com.homelibrary.dao.BookSort;
+import com.homelibrary.model.Book;
+import com.homelibrary.service.BookService;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Read-only list of books that loads pages from the database as rows are requested.
+ * A TableView only asks for the rows it displays, so memory use and load time do not
+ * depend on the size of the library. Recently used pages are kept in a small LRU cache.
+ * Pages are loaded on a background executor; until a page arrives its rows are shown as
+ * placeholders, which are then replaced in place. Changed books are patched in place
+ * only where their rows provably stay put; otherwise the list is recounted and reloaded.
+ * Only used from the FX thread.
+ */
+class PagedBookList extends ObservableListBase<Book> {
+    private static final Logger logger = LoggerFactory.getLogger(PagedBookList.class);
+    private static final String PLACEHOLDER_TITLE = "Loading...";
+
+    private final BookService bookService;
+    private final BookQuery query;
+    private final BookSort sort;
+    private final int pageSize;
+    private final Executor loader;
+    private final Runnable onReset;
+    private int size;
+    private final Map<Integer, List<Book>> pages;
+    // Pages being loaded, with the rows shown until they arrive
+    private final Map<Integer, List<Book>> loadingPages = new HashMap<>();
+    // Key of the last book before each known page start; page 0 starts at the beginning
+    private final TreeMap<Integer, BookPage.Key> pageStarts = new TreeMap<>();
+
+    PagedBookList(BookService bookService, BookQuery query, BookPage firstPage, BookSort sort,
+                  int pageSize, int maxCachedPages, Executor loader, Runnable onReset) {
+        this.bookService = bookService;
+        this.query = query;
+        this.sort = sort;
+        this.pageSize = pageSize;
+        this.loader = loader;
+        this.onReset = onReset;
+        this.size = firstPage.getTotalCount();
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Book>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+
+        pages.put(0, new ArrayList<>(firstPage.getBooks()));
+        if (firstPage.getLastKey() != null) {
+            pageStarts.put(1, firstPage.getLastKey());
+        }
+    }
+
+    /**
+     * Check whether a row is a placeholder for a book that is still being loaded.
+     */
+    static boolean isPlaceholder(Book book) {
+        return book.getId() == null;
+    }
+
+    @Override
+    public Book get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        int pageIndex = index / pageSize;
+        int offset = index % pageSize;
+        List<Book> page = pages.get(pageIndex);
+        if (page != null && offset < page.size()) {
+            return page.get(offset);
+        }
+
+        List<Book> rows = loadingPages.get(pageIndex);
+        if (rows == null) {
+            // A loaded page is short when the list grew after it was read
+            rows = loadPage(pageIndex, page != null ? pages.remove(pageIndex) : List.of());
+        }
+        while (rows.size() <= offset) {
+            rows.add(placeholder());
+        }
+        return rows.get(offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Look for a book among the loaded pages only, so that lookups never load the whole library.
+     */
+    @Override
+    public int indexOf(Object o) {
+        for (Map.Entry<Integer, List<Book>> entry : pages.entrySet()) {
+            int offset = entry.getValue().indexOf(o);
+            if (offset >= 0) {
+                return entry.getKey() * pageSize + offset;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * Check whether changed books can be patched in place. That holds only for an unfiltered
+     * list sorted by ID, where every book belongs, edits never move a row and new books come
+     * last. Any other order, including the default title order of an unsorted list, can move
+     * a changed book, so the list is reloaded instead.
+     */
+    boolean canPatch() {
+        return query.isEmpty() && sort.equals(BookSort.BY_ID);
+    }
+
+    /**
+     * Replace the loaded copies of updated books, keeping their rows where they are.
+     */
+    void update(Collection<Book> books) {
+        beginChange();
+        try {
+            for (Book book : books) {
+                int index = indexOfId(book.getId());
+                if (index >= 0) {
+                    nextSet(index, pages.get(index / pageSize).set(index % pageSize, book));
+                }
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Remove deleted books. A loaded row is removed where it is and the pages from there on
+     * are reloaded when next shown; otherwise its position is unknown without a query, so
+     * the list is reloaded.
+     */
+    void remove(Collection<Integer> ids) {
+        boolean unknown = false;
+        beginChange();
+        try {
+            for (Integer id : ids) {
+                int index = indexOfId(id);
+                if (index >= 0) {
+                    Book removed = get(index);
+                    dropPagesFrom(index / pageSize);
+                    size--;
+                    nextRemove(index, removed);
+                } else {
+                    unknown = true;
+                }
+            }
+        } finally {
+            endChange();
+        }
+        if (unknown) {
+            reload();
+        }
+    }
+
+    /**
+     * Add rows at the end for inserted books, which have the highest IDs.
+     */
+    void insert(int count) {
+        beginChange();
+        try {
+            size += count;
+            nextAdd(size - count, size);
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Count the matching books in the background, then drop all pages and redraw the rows
+     * shown, for changes whose effect on the list is unknown.
+     */
+    void reload() {
+        loader.execute(() -> {
+            try {
+                int count = bookService.countBooks(query);
+                Platform.runLater(() -> reset(count));
+            } catch (SQLException e) {
+                logger.error("Failed to count books", e);
+            }
+        });
+    }
+
+    /**
+     * Find the row of a book among the loaded pages.
+     */
+    private int indexOfId(Integer id) {
+        for (Map.Entry<Integer, List<Book>> entry : pages.entrySet()) {
+            List<Book> page = entry.getValue();
+            for (int offset = 0; offset < page.size(); offset++) {
+                if (id.equals(page.get(offset).getId())) {
+                    return entry.getKey() * pageSize + offset;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Start loading a page in the background, showing the given rows and placeholders for
+     * the rest until it arrives. Returns the rows shown meanwhile.
+     */
+    private List<Book> loadPage(int pageIndex, List<Book> shown) {
+        List<Book> rows = new ArrayList<>(shown);
+        int rowCount = Math.min(pageSize, size - pageIndex * pageSize);
+        while (rows.size() < rowCount) {
+            rows.add(placeholder());
+        }
+        loadingPages.put(pageIndex, rows);
+
+        Map.Entry<Integer, BookPage.Key> nearest = pageStarts.floorEntry(pageIndex);
+        loader.execute(() -> fetchPage(pageIndex, rows, nearest));
+        return rows;
+    }
+
+    /**
+     * Read a page on the loader thread and hand it to the FX thread.
+     */
+    private void fetchPage(int pageIndex, List<Book> rows, Map.Entry<Integer, BookPage.Key> nearest) {
+        try {
+            BookPage.Key start = null;
+            if (pageIndex > 0) {
+                Optional<BookPage.Key> key = findPageStart(pageIndex, nearest);
+                if (key.isEmpty()) {
+                    int count = bookService.countBooks(query);
+                    Platform.runLater(() -> pageMissing(pageIndex, rows, count));
+                    return;
+                }
+                start = key.get();
+            }
+
+            BookPage page = bookService.getBookPage(query, start, pageSize, sort);
+            BookPage.Key pageStart = start;
+            Platform.runLater(() -> pageLoaded(pageIndex, rows, pageStart, page));
+        } catch (SQLException e) {
+            logger.error("Failed to load page {} of books", pageIndex, e);
+        }
+    }
+
+    /**
+     * Find the key the given page starts after, seeking from the nearest known page start.
+     * Empty when the page lies beyond the end of the library.
+     */
+    private Optional<BookPage.Key> findPageStart(int pageIndex, Map.Entry<Integer, BookPage.Key> nearest)
+            throws SQLException {
+        if (nearest != null && nearest.getKey() == pageIndex) {
+            return Optional.of(nearest.getValue());
+        }
+
+        int fromPage = nearest != null ? nearest.getKey() : 0;
+        BookPage.Key fromKey = nearest != null ? nearest.getValue() : null;
+        // The start key of a page is the last row of the previous page
+        return bookService.findBookKeyAt(query, fromKey, (pageIndex - fromPage) * pageSize - 1, sort);
+    }
+
+    /**
+     * Replace the placeholders of a loaded page. A page that comes back short means rows were
+     * deleted since the count was taken, so the list is shortened to end with it.
+     */
+    private void pageLoaded(int pageIndex, List<Book> rows, BookPage.Key start, BookPage page) {
+        if (loadingPages.get(pageIndex) != rows) {
+            // The list changed while the page was loading and it was dropped
+            return;
+        }
+
+        loadingPages.remove(pageIndex);
+        if (start != null) {
+            pageStarts.put(pageIndex, start);
+        }
+        if (page.getLastKey() != null) {
+            pageStarts.put(pageIndex + 1, page.getLastKey());
+        }
+        List<Book> books = new ArrayList<>(page.getBooks());
+        pages.put(pageIndex, books);
+
+        int from = pageIndex * pageSize;
+        int shown = Math.min(rows.size(), size - from);
+        int replaced = Math.min(shown, books.size());
+        beginChange();
+        try {
+            if (replaced > 0) {
+                nextReplace(from, from + replaced, new ArrayList<>(rows.subList(0, replaced)));
+            }
+            if (books.size() < Math.min(pageSize, size - from)) {
+                truncate(from + books.size());
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Handle a page whose start was not found. Page starts are found by counting rows, which
+     * is off once rows are deleted before them, so they are forgotten, the list is cut to the
+     * current count and the page is read again if it is still part of the list.
+     */
+    private void pageMissing(int pageIndex, List<Book> rows, int count) {
+        if (loadingPages.get(pageIndex) != rows) {
+            return;
+        }
+
+        pageStarts.clear();
+        if (count < size) {
+            beginChange();
+            try {
+                truncate(count);
+            } finally {
+                endChange();
+            }
+        }
+        if (loadingPages.get(pageIndex) == rows) {
+            loader.execute(() -> fetchPage(pageIndex, rows, null));
+        }
+    }
+
+    /**
+     * Forget all pages and resize the list to the given count.
+     */
+    private void reset(int count) {
+        beginChange();
+        try {
+            if (count < size) {
+                truncate(count);
+            } else if (count > size) {
+                int added = count - size;
+                size = count;
+                nextAdd(size - added, size);
+            }
+            dropPagesFrom(0);
+        } finally {
+            endChange();
+        }
+        // Rows still in the list may now show other books, so they are read again
+        onReset.run();
+    }
+
+    /**
+     * Shorten the list within a change, dropping the pages past its new end.
+     */
+    private void truncate(int newSize) {
+        List<Book> removed = new ArrayList<>(size - newSize);
+        for (int index = newSize; index < size; index++) {
+            removed.add(peek(index));
+        }
+        dropPagesFrom((newSize + pageSize - 1) / pageSize);
+        size = newSize;
+        nextRemove(newSize, removed);
+    }
+
+    /**
+     * Forget the given page and those after it, including pages still loading.
+     */
+    private void dropPagesFrom(int pageIndex) {
+        pages.keySet().removeIf(loaded -> loaded >= pageIndex);
+        loadingPages.keySet().removeIf(loading -> loading >= pageIndex);
+        pageStarts.tailMap(pageIndex, false).clear();
+    }
+
+    /**
+     * Get the row last shown at an index without loading anything.
+     */
+    private Book peek(int index) {
+        int offset = index % pageSize;
+        List<Book> page = pages.get(index / pageSize);
+        if (page == null) {
+            page = loadingPages.get(index / pageSize);
+        }
+        return page != null && offset < page.size() ? page.get(offset) : placeholder();
+    }
+
+    private static Book placeholder() {
+        Book book = new Book();
+        book.setTitle(PLACEHOLDER_TITLE);
+        return book;
+    }
+}
@@ -48,7 +48,7 @@ public class DatabaseTest {
     @Test
     @Order(1)
     @DisplayName("Database should initialize successfully")
-    void testDatabaseInitialization() {
+    void testDatabaseInitialization() throws SQLException {
         assertNotNull(Database.getInstance());
         assertNotNull(Database.getInstance().getConnection());
     }
@@ -0,0 +1,353 @@
+package com.homelibrary.dao;
+
+import com.homelibrary.model.Author;
+import com.homelibrary.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for saving, finding, searching and paging books.
+ */
+public class BookDaoTest {
+    private BookDao bookDao;
+    private String tag;
+
+    @BeforeEach
+    void setUp() {
+        bookDao = new BookDao();
+        // Unique per test, so each test finds only its own rows in the shared database
+        tag = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    @DisplayName("Should load authors for every book in a list")
+    void testFindAllLoadsAuthors() throws SQLException {
+        Book first = newBook("Authors Book One");
+        first.addAuthor(new Author("Author Alpha"));
+        first.addAuthor(new Author("Author Beta"));
+        Integer firstId = bookDao.save(first).getId();
+
+        Book second = newBook("Authors Book Two");
+        second.addAuthor(new Author("Author Gamma"));
+        Integer secondId = bookDao.save(second).getId();
+
+        Integer thirdId = bookDao.save(newBook("Authors Book Three")).getId();
+
+        var books = bookDao.findAll();
+        Book loadedFirst = books.stream().filter(b -> b.getId().equals(firstId)).findFirst().orElseThrow();
+        Book loadedSecond = books.stream().filter(b -> b.getId().equals(secondId)).findFirst().orElseThrow();
+        Book loadedThird = books.stream().filter(b -> b.getId().equals(thirdId)).findFirst().orElseThrow();
+
+        assertEquals("Author Alpha, Author Beta", loadedFirst.getAuthorsString());
+        assertEquals("Author Gamma", loadedSecond.getAuthorsString());
+        assertTrue(loadedThird.getAuthors().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should search books through the full-text index")
+    void testFullTextSearch() throws SQLException {
+        Book first = newBook("Full Text One");
+        first.addAuthor(new Author("Writer " + tag));
+        bookDao.save(first);
+        Book second = newBook("Full Text Two");
+        second.addAuthor(new Author("Gamma " + tag));
+        bookDao.save(second);
+
+        // Author names are indexed through book_author triggers
+        var byAuthor = bookDao.search("amma " + tag);
+        assertEquals(1, byAuthor.size());
+        assertEquals(second.getTitle(), byAuthor.get(0).getTitle());
+
+        // Title matches rank ahead of weaker matches
+        var byTitle = bookDao.search("One " + tag);
+        assertFalse(byTitle.isEmpty());
+        assertEquals(first.getTitle(), byTitle.get(0).getTitle());
+
+        // Short queries fall back to pattern matching
+        var shortQuery = bookDao.search("Tw");
+        assertTrue(shortQuery.stream().anyMatch(b -> second.getTitle().equals(b.getTitle())));
+
+        // Updates are reflected in the index
+        Book book = byAuthor.get(0);
+        book.setTags("quasar" + tag);
+        bookDao.save(book);
+        assertEquals(1, bookDao.search("quasar" + tag).size());
+    }
+
+    @Test
+    @DisplayName("Should save many books in batches")
+    void testSaveAll() throws SQLException {
+        int initialCount = bookDao.count();
+        Author shared = new Author("Batch Author");
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Book book = newBook("Batch Book " + i);
+            book.addAuthor(shared);
+            books.add(book);
+        }
+
+        bookDao.saveAll(books, 10);
+
+        assertEquals(initialCount + 25, bookDao.count());
+        for (Book book : books) {
+            Book loaded = bookDao.findById(book.getId()).orElseThrow();
+            assertEquals(book.getTitle(), loaded.getTitle());
+            assertEquals("Batch Author", loaded.getAuthorsString());
+        }
+
+        // Existing books are updated in the same pass
+        books.get(0).setTitle("Batch Book Renamed");
+        bookDao.saveAll(List.of(books.get(0)), 10);
+        assertEquals("Batch Book Renamed", bookDao.findById(books.get(0).getId()).orElseThrow().getTitle());
+        assertEquals(initialCount + 25, bookDao.count());
+    }
+
+    @Test
+    @DisplayName("Should forget the ids of authors inserted by a rolled back batch")
+    void testSaveAllRollbackForgetsAuthorIds() throws SQLException {
+        Author author = new Author("Rolled Back Batch Author " + tag);
+        Book valid = newBook("Rolled Back Batch Book");
+        valid.addAuthor(author);
+        Book invalid = new Book();
+
+        assertThrows(SQLException.class, () -> bookDao.saveAll(List.of(valid, invalid), 10));
+        assertNull(valid.getId());
+        assertNull(author.getId());
+
+        bookDao.saveAll(List.of(valid), 10);
+        assertNotNull(author.getId());
+        assertTrue(new AuthorDao().findByName(author.getName()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should stream books with their authors through a cursor")
+    void testBookCursor() throws SQLException {
+        Book saved = newBook("Cursor Book");
+        saved.addAuthor(new Author("Cursor Author Alpha"));
+        saved.addAuthor(new Author("Cursor Author Beta"));
+        bookDao.save(saved);
+
+        int streamed = 0;
+        boolean found = false;
+        try (BookCursor cursor = bookDao.openCursor()) {
+            Book book;
+            while ((book = cursor.next()) != null) {
+                streamed++;
+                if (saved.getId().equals(book.getId())) {
+                    assertEquals("Cursor Author Alpha, Cursor Author Beta", book.getAuthorsString());
+                    found = true;
+                }
+            }
+        }
+        assertTrue(found);
+        assertEquals(bookDao.count(), streamed);
+    }
+
+    @Test
+    @DisplayName("Should find books sharing an ISBN or title for duplicate checks")
+    void testFindByIsbnOrTitle() throws SQLException {
+        Book byIsbn = newBook("Isbn Match");
+        byIsbn.setIsbn13("978" + tag);
+        bookDao.save(byIsbn);
+        Book byTitle = newBook("Title Match");
+        byTitle.addAuthor(new Author("Title Match Author"));
+        bookDao.save(byTitle);
+        bookDao.save(newBook("No Match"));
+
+        List<Book> found = bookDao.findByIsbnOrTitle(List.of(), List.of("978" + tag),
+                List.of(byTitle.getTitle().toUpperCase()));
+
+        assertEquals(Set.of(byIsbn.getId(), byTitle.getId()),
+                new HashSet<>(found.stream().map(Book::getId).toList()));
+        Book loaded = found.stream().filter(b -> b.getId().equals(byTitle.getId())).findFirst().orElseThrow();
+        assertEquals("Title Match Author", loaded.getAuthorsString());
+    }
+
+    @Test
+    @DisplayName("Should stop a search once it is cancelled")
+    void testCancelledSearch() throws SQLException {
+        bookDao.save(newBook("Cancelled Search Book"));
+        QueryCancellation cancellation = new QueryCancellation();
+        assertFalse(bookDao.search("Cancelled Search Book " + tag, cancellation).isEmpty());
+
+        cancellation.cancel();
+        assertThrows(SQLException.class, () -> bookDao.search("Cancelled Search Book " + tag, cancellation));
+        assertThrows(SQLException.class,
+            () -> bookDao.findPage(new BookQuery(), null, 10, BookSort.UNSORTED, cancellation));
+    }
+
+    @Test
+    @DisplayName("Should page through books with keyset pagination")
+    void testFindPage() throws SQLException {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            books.add(newBook("Paged Book " + i));
+        }
+        bookDao.saveAll(books, 10);
+
+        List<Integer> pagedIds = new ArrayList<>();
+        BookPage page = bookDao.findPage(null, 7);
+        int totalCount = page.getTotalCount();
+        assertEquals(bookDao.count(), totalCount);
+
+        while (!page.getBooks().isEmpty()) {
+            page.getBooks().forEach(book -> pagedIds.add(book.getId()));
+            page = bookDao.findPage(page.getLastKey(), 7);
+            assertEquals(-1, page.getTotalCount());
+        }
+
+        // Pages cover every book exactly once, in title order
+        assertEquals(totalCount, pagedIds.size());
+        assertEquals(totalCount, new HashSet<>(pagedIds).size());
+        List<Integer> expectedIds = bookDao.findAll().stream().map(Book::getId).toList();
+        assertEquals(new HashSet<>(expectedIds), new HashSet<>(pagedIds));
+
+        // Seeking lands on the same book as paging
+        BookPage.Key tenth = bookDao.findKeyAt(null, 9).orElseThrow();
+        assertEquals(pagedIds.get(9), tenth.getId());
+        BookPage.Key twentieth = bookDao.findKeyAt(tenth, 10).orElseThrow();
+        assertEquals(pagedIds.get(20), twentieth.getId());
+        assertTrue(bookDao.findKeyAt(null, totalCount).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page through books in a multi-column SQL sort")
+    void testSortedPages() throws SQLException {
+        saveSortedBooks();
+        BookQuery query = new BookQuery();
+        query.setText(tag);
+
+        BookSort[] sorts = {
+            BookSort.of(List.of(new BookSort.Key(BookSort.Column.YEAR, false),
+                                new BookSort.Key(BookSort.Column.TITLE, true))),
+            BookSort.of(List.of(new BookSort.Key(BookSort.Column.YEAR, true))),
+            BookSort.of(List.of(new BookSort.Key(BookSort.Column.CATEGORY, true),
+                                new BookSort.Key(BookSort.Column.RATING, false)))
+        };
+
+        for (BookSort sort : sorts) {
+            List<Integer> expectedIds = bookDao.find(query, sort).stream().map(Book::getId).toList();
+            assertEquals(7, expectedIds.size());
+
+            List<Integer> pagedIds = new ArrayList<>();
+            BookPage page = bookDao.findPage(query, null, 3, sort);
+            while (!page.getBooks().isEmpty()) {
+                page.getBooks().forEach(book -> pagedIds.add(book.getId()));
+                page = bookDao.findPage(query, page.getLastKey(), 3, sort);
+            }
+            assertEquals(expectedIds, pagedIds);
+
+            BookPage.Key seventh = bookDao.findKeyAt(query, null, 6, sort).orElseThrow();
+            assertEquals(expectedIds.get(6), seventh.getId());
+        }
+
+        // Newest books first, books without a year last
+        List<Book> byYear = bookDao.find(query, sorts[0]);
+        assertEquals(2010, byYear.get(0).getYearPublished());
+        assertNull(byYear.get(byYear.size() - 1).getYearPublished());
+    }
+
+    @Test
+    @DisplayName("Should combine query criteria in one statement")
+    void testCombinedQuery() throws SQLException {
+        saveSortedBooks();
+        BookQuery query = new BookQuery();
+        query.setText(tag);
+        query.setYearFrom(2000);
+        query.setRead(false);
+
+        List<Book> books = bookDao.find(query, BookSort.BY_TITLE);
+        assertEquals(List.of("Sorted Book B " + tag, "Sorted Book D " + tag, "Sorted Book G " + tag),
+                books.stream().map(Book::getTitle).toList());
+        assertEquals(3, bookDao.count(query));
+
+        BookPage page = bookDao.findPage(query, null, 2, BookSort.UNSORTED);
+        assertEquals(3, page.getTotalCount());
+        page = bookDao.findPage(query, page.getLastKey(), 2, BookSort.UNSORTED);
+        assertEquals(1, page.getBooks().size());
+
+        query.setYearTo(2005);
+        assertEquals(2, bookDao.count(query));
+    }
+
+    @Test
+    @DisplayName("Should save only changed fields and author links")
+    void testDirtyTracking() throws SQLException {
+        Book book = newBook("Tracked Book");
+        book.setNotes("Original notes");
+        book.addAuthor(new Author("Tracked Author One"));
+        book.addAuthor(new Author("Tracked Author Two"));
+        bookDao.save(book);
+        assertTrue(book.getDirtyFields().isEmpty());
+
+        Book loaded = bookDao.findById(book.getId()).orElseThrow();
+        loaded.setTitle(book.getTitle());
+        loaded.setRead(true);
+        assertEquals(Set.of(Book.Field.READ), loaded.getDirtyFields());
+
+        Author first = loaded.getAuthors().get(0);
+        loaded.setAuthors(new ArrayList<>(List.of(first, new Author("Tracked Author Three"))));
+        bookDao.save(loaded);
+        assertTrue(loaded.getDirtyFields().isEmpty());
+
+        Book reloaded = bookDao.findById(book.getId()).orElseThrow();
+        assertTrue(reloaded.isRead());
+        assertEquals("Original notes", reloaded.getNotes());
+        assertEquals(List.of("Tracked Author One", "Tracked Author Three"),
+                reloaded.getAuthors().stream().map(Author::getName).toList());
+    }
+
+    @Test
+    @DisplayName("Should serve books by id from the cache and invalidate on writes")
+    void testBookCache() throws SQLException {
+        Book book = bookDao.save(newBook("Cached Book"));
+
+        long hits = bookDao.getCacheHits();
+        Book first = bookDao.findById(book.getId()).orElseThrow();
+        Book second = bookDao.findById(book.getId()).orElseThrow();
+        assertEquals(hits + 2, bookDao.getCacheHits());
+        assertNotSame(first, second);
+        assertTrue(bookDao.getCacheHitRatio() > 0);
+
+        first.setTitle("Cached Book Renamed");
+        bookDao.save(first);
+        assertEquals("Cached Book Renamed", bookDao.findById(book.getId()).orElseThrow().getTitle());
+
+        bookDao.delete(book.getId());
+        assertTrue(bookDao.findById(book.getId()).isEmpty());
+    }
+
+    /**
+     * Create an unsaved book whose title ends with the tag of this test.
+     */
+    private Book newBook(String title) {
+        Book book = new Book();
+        book.setTitle(title + " " + tag);
+        return book;
+    }
+
+    /**
+     * Save seven unread books named Sorted Book G down to A, with repeated and missing years.
+     */
+    private void saveSortedBooks() throws SQLException {
+        Integer[] years = {2001, null, 1999, 2001, null, 2010, 1999};
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < years.length; i++) {
+            Book book = newBook("Sorted Book " + (char) ('G' - i));
+            book.setYearPublished(years[i]);
+            books.add(book);
+        }
+        bookDao.saveAll(books, 10);
+    }
+}
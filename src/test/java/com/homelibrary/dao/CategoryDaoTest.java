@@ -0,0 +1,46 @@
+package com.homelibrary.dao;
+
+import com.homelibrary.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the cached category lookups.
+ */
+public class CategoryDaoTest {
+    private CategoryDao categoryDao;
+    private String tag;
+
+    @BeforeEach
+    void setUp() {
+        categoryDao = new CategoryDao();
+        // Category names are unique, so each test uses names of its own
+        tag = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    @DisplayName("Should serve cached categories and invalidate them on writes")
+    void testEntityCache() throws SQLException {
+        Category created = categoryDao.getOrCreate("Cached Category " + tag);
+        assertEquals(created.getId(), categoryDao.getOrCreate("Cached Category " + tag).getId());
+
+        // Cached entities are copies, so changing one does not change the cache
+        categoryDao.findById(created.getId()).orElseThrow().setName("Changed Locally");
+        assertEquals("Cached Category " + tag, categoryDao.findById(created.getId()).orElseThrow().getName());
+
+        int categoryCount = categoryDao.findAll().size();
+        created.setName("Renamed Category " + tag);
+        categoryDao.save(created);
+        assertTrue(categoryDao.findByName("Cached Category " + tag).isEmpty());
+        assertEquals("Renamed Category " + tag, categoryDao.findById(created.getId()).orElseThrow().getName());
+
+        categoryDao.getOrCreate("Another Cached Category " + tag);
+        assertEquals(categoryCount + 1, categoryDao.findAll().size());
+    }
+}
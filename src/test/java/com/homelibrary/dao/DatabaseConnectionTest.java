@@ -0,0 +1,114 @@
+package com.homelibrary.dao;
+
+import com.homelibrary.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the writer connection, the reader pool and the statement cache.
+ */
+public class DatabaseConnectionTest {
+    private Database database;
+    private BookDao bookDao;
+
+    @BeforeEach
+    void setUp() {
+        database = Database.getInstance();
+        bookDao = new BookDao();
+    }
+
+    @Test
+    @DisplayName("Should read on pooled connections while a write is in progress")
+    void testReadsDuringWriteTransaction() throws Exception {
+        int committedCount = bookDao.count();
+
+        try (Connection writer = database.getWriteConnection()) {
+            writer.setAutoCommit(false);
+            try (Statement stmt = writer.createStatement()) {
+                stmt.executeUpdate("INSERT INTO book (title) VALUES ('Uncommitted Book')");
+
+                // The writing thread sees its own change
+                assertEquals(committedCount + 1, bookDao.count());
+
+                // Another thread reads the last committed state without waiting for the writer
+                ExecutorService executor = Executors.newSingleThreadExecutor();
+                try {
+                    Future<Integer> otherCount = executor.submit(() -> bookDao.count());
+                    assertEquals(committedCount, otherCount.get(5, TimeUnit.SECONDS));
+                } finally {
+                    executor.shutdownNow();
+                }
+            } finally {
+                writer.rollback();
+                writer.setAutoCommit(true);
+            }
+        }
+
+        assertEquals(committedCount, bookDao.count());
+    }
+
+    @Test
+    @DisplayName("Should reuse cached prepared statements")
+    void testStatementCache() throws SQLException {
+        BookQuery query = new BookQuery();
+        query.setRead(true);
+        // Prepare the statement on every pooled reader first
+        for (int i = 0; i < 10; i++) {
+            bookDao.count(query);
+        }
+
+        long misses = database.getStatementCacheMisses();
+        long hits = database.getStatementCacheHits();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bookDao.count(query) >= 0);
+        }
+        assertEquals(misses, database.getStatementCacheMisses());
+        assertTrue(database.getStatementCacheHits() >= hits + 10);
+    }
+
+    @Test
+    @DisplayName("Should not reuse readers leased before a reconnect")
+    void testReconnectWithLeasedReader() throws SQLException {
+        Connection leased = database.getReadConnection();
+        database.getConnection().close();
+        assertFalse(database.getConnection().isClosed());
+        leased.close();
+
+        for (int i = 0; i < 10; i++) {
+            try (Connection conn = database.getReadConnection();
+                 Statement stmt = conn.createStatement()) {
+                assertFalse(conn.isClosed());
+                assertTrue(stmt.executeQuery("SELECT COUNT(*) FROM book").next());
+            }
+        }
+        assertTrue(bookDao.count() >= 0);
+    }
+
+    @Test
+    @DisplayName("Should not reconnect under a thread that holds the writer")
+    void testNoReconnectWhileHoldingWriter() throws SQLException {
+        try (Connection conn = database.getWriteConnection()) {
+            database.getConnection().close();
+            assertThrows(SQLException.class, database::getWriteConnection);
+            assertThrows(SQLException.class, database::getConnection);
+        }
+        assertFalse(database.getConnection().isClosed());
+
+        // The reconnected writer accepts writes again
+        Book book = new Book();
+        book.setTitle("Written After Reconnect");
+        assertNotNull(bookDao.save(book).getId());
+        bookDao.delete(book.getId());
+    }
+}
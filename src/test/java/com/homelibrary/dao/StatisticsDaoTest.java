@@ -0,0 +1,79 @@
+package com.homelibrary.dao;
+
+import com.homelibrary.model.Book;
+import com.homelibrary.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for library statistics, computed or kept in the summary tables.
+ */
+public class StatisticsDaoTest {
+    private BookDao bookDao;
+    private String tag;
+
+    @BeforeEach
+    void setUp() {
+        bookDao = new BookDao();
+        // Unique per test, so each test finds only its own rows in the shared database
+        tag = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    @DisplayName("Should compute library statistics with aggregate queries")
+    void testLibraryStats() throws SQLException {
+        Book book = new Book();
+        book.setTitle("Stats Book " + tag);
+        book.setFormat("Hardcover");
+        book.setLanguage("Language " + tag);
+        book.setRead(true);
+        bookDao.save(book);
+
+        BookService.LibraryStats stats = new BookService().getLibraryStats();
+        assertEquals(bookDao.count(), stats.totalBooks);
+        assertEquals(bookDao.findByReadStatus(true).size(), stats.readBooks);
+        assertEquals(bookDao.findByReadStatus(false).size(), stats.unreadBooks);
+        assertEquals(bookDao.findByBorrowedStatus(true).size(), stats.borrowedBooks);
+        assertEquals(1, stats.booksByLanguage.get("Language " + tag));
+        assertTrue(stats.booksByFormat.get("Hardcover") >= 1);
+    }
+
+    @Test
+    @DisplayName("Should keep materialized statistics consistent and rebuild them")
+    void testMaterializedStats() throws SQLException {
+        StatisticsDao statisticsDao = new StatisticsDao();
+        Book book = new Book();
+        book.setTitle("Materialized Stats Book " + tag);
+        bookDao.save(book);
+        Book deleted = new Book();
+        deleted.setTitle("Materialized Stats Deleted " + tag);
+        bookDao.save(deleted);
+        assertTrue(statisticsDao.isConsistent());
+
+        book.setRead(!book.isRead());
+        book.setBorrowed(!book.isBorrowed());
+        book.setFormat("Paperback");
+        book.setLanguage("German");
+        bookDao.save(book);
+        bookDao.delete(deleted.getId());
+        assertTrue(statisticsDao.isConsistent());
+
+        try (Connection conn = Database.getInstance().getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("UPDATE library_stats SET totalBooks = totalBooks + 5");
+        }
+        assertFalse(statisticsDao.isConsistent());
+
+        statisticsDao.rebuild();
+        assertTrue(statisticsDao.isConsistent());
+        assertEquals(bookDao.count(), statisticsDao.findTotals().books);
+    }
+}
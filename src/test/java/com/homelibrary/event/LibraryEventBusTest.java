@@ -0,0 +1,139 @@
+package com.homelibrary.event;
+
+import com.homelibrary.dao.AuthorDao;
+import com.homelibrary.dao.Database;
+import com.homelibrary.model.Author;
+import com.homelibrary.model.Book;
+import com.homelibrary.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the events published when books, authors and categories change.
+ */
+public class LibraryEventBusTest {
+    private BookService bookService;
+    private String tag;
+
+    @BeforeEach
+    void setUp() {
+        bookService = new BookService();
+        // Unique per test, so each test finds only its own rows in the shared database
+        tag = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    @DisplayName("Should publish inserted, updated and deleted books")
+    void testLibraryEvents() throws SQLException {
+        List<LibraryEvent> events = new ArrayList<>();
+        Consumer<LibraryEvent> subscriber = events::add;
+        LibraryEventBus.getInstance().subscribe(subscriber);
+        try {
+            Book book = new Book();
+            book.setTitle("Event Book " + tag);
+            bookService.saveBook(book);
+            book.setRating(4);
+            bookService.saveBook(book);
+
+            Book other = new Book();
+            other.setTitle("Event Book 2 " + tag);
+            bookService.saveBooks(List.of(book, other));
+            bookService.deleteBook(book.getId());
+        } finally {
+            LibraryEventBus.getInstance().unsubscribe(subscriber);
+        }
+
+        assertEquals(5, events.size());
+        assertEquals(LibraryEvent.Type.CREATED, events.get(0).getType());
+        assertNotNull(events.get(0).getIds().get(0));
+        assertEquals(LibraryEvent.Type.UPDATED, events.get(1).getType());
+        assertEquals(LibraryEvent.Type.UPDATED, events.get(2).getType());
+        assertEquals(LibraryEvent.Type.CREATED, events.get(3).getType());
+        assertEquals("Event Book 2 " + tag, events.get(3).getBooks().get(0).getTitle());
+        assertEquals(LibraryEvent.Type.DELETED, events.get(4).getType());
+        assertEquals(List.of(events.get(0).getIds().get(0)), events.get(4).getIds());
+    }
+
+    @Test
+    @DisplayName("Should coalesce events for asynchronous subscribers")
+    void testCoalescedLibraryEvents() throws SQLException {
+        List<Runnable> tasks = new ArrayList<>();
+        List<List<LibraryEvent>> deliveries = new ArrayList<>();
+        Consumer<List<LibraryEvent>> subscriber = deliveries::add;
+        LibraryEventBus.getInstance().subscribe(tasks::add, subscriber);
+        try {
+            List<Book> books = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Book book = new Book();
+                book.setTitle("Coalesced Book " + i + " " + tag);
+                books.add(bookService.saveBook(book));
+            }
+            for (Book book : books) {
+                book.setRating(5);
+                bookService.saveBook(book);
+            }
+            Author author = new AuthorDao().getOrCreate("Coalesced Author " + tag);
+            author.setName("Coalesced Author Renamed " + tag);
+            new AuthorDao().save(author);
+        } finally {
+            LibraryEventBus.getInstance().unsubscribe(subscriber);
+        }
+
+        // Everything published before the first delivery arrives in one batch
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals(1, deliveries.size());
+
+        List<LibraryEvent> events = deliveries.get(0);
+        assertEquals(4, events.size());
+        assertEquals(LibraryEvent.Type.CREATED, events.get(0).getType());
+        assertEquals(3, events.get(0).getIds().size());
+        assertEquals(LibraryEvent.Type.UPDATED, events.get(1).getType());
+        assertEquals(3, events.get(1).getBooks().size());
+        assertEquals(LibraryEvent.Entity.AUTHOR, events.get(2).getEntity());
+        assertEquals(LibraryEvent.Type.CREATED, events.get(2).getType());
+        assertEquals(LibraryEvent.Entity.AUTHOR, events.get(3).getEntity());
+        assertEquals(LibraryEvent.Type.UPDATED, events.get(3).getType());
+    }
+
+    @Test
+    @DisplayName("Should publish authors saved in a transaction only once it commits")
+    void testAuthorEventsAfterCommit() throws SQLException {
+        AuthorDao authorDao = new AuthorDao();
+        List<LibraryEvent> events = new ArrayList<>();
+        Consumer<LibraryEvent> subscriber = events::add;
+        LibraryEventBus.getInstance().subscribe(subscriber);
+        try (Connection conn = Database.getInstance().getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                authorDao.save(new Author("Rolled Back Author " + tag));
+                assertTrue(events.isEmpty());
+                conn.rollback();
+
+                Author committed = authorDao.save(new Author("Committed Author " + tag));
+                assertTrue(events.isEmpty());
+                conn.commit();
+                assertEquals(1, events.size());
+                assertEquals(LibraryEvent.Entity.AUTHOR, events.get(0).getEntity());
+                assertEquals(List.of(committed.getId()), events.get(0).getIds());
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            LibraryEventBus.getInstance().unsubscribe(subscriber);
+        }
+
+        assertEquals(1, events.size());
+        assertTrue(authorDao.findByName("Rolled Back Author " + tag).isEmpty());
+    }
+}
@@ -0,0 +1,153 @@
+package com.homelibrary.service;
+
+import com.homelibrary.dao.BookDao;
+import com.homelibrary.model.Author;
+import com.homelibrary.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for exporting the library and importing it back.
+ */
+public class ExportImportServiceTest {
+    private BookDao bookDao;
+    private ExportImportService service;
+    private String tag;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        bookDao = new BookDao();
+        service = new ExportImportService(new BookService());
+        // Unique per test, so imported books are never duplicates of earlier runs
+        tag = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    @DisplayName("Should import books from a JSON export")
+    void testImportFromJson() throws Exception {
+        File json = writeJson("""
+            {
+              "exportDate": "2024-01-01T10:00:00",
+              "version": "2.0",
+              "books": [
+                {
+                  "title": "Imported \\"Quoted\\" Book %1$s",
+                  "yearPublished": 1999,
+                  "rating": 4,
+                  "isRead": true,
+                  "category": "Imported Category",
+                  "authors": ["Import Author One", "Import Author Two"]
+                },
+                {
+                  "title": "Imported Bad Book %1$s",
+                  "dateAdded": "not a date"
+                }
+              ]
+            }
+            """.formatted(tag));
+
+        ExportImportService.ImportResult result = service.importFromJson(json);
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(1, result.getErrorCount());
+
+        Book imported = bookDao.search("Imported \"Quoted\" Book " + tag).get(0);
+        assertEquals(1999, imported.getYearPublished());
+        assertEquals(4, imported.getRating());
+        assertTrue(imported.isRead());
+        assertEquals("Imported Category", imported.getCategory().getName());
+        assertEquals("Import Author One, Import Author Two", imported.getAuthorsString());
+    }
+
+    @Test
+    @DisplayName("Should read an exported ZIP archive back in place")
+    void testExportImportZipRoundTrip() throws Exception {
+        Book book = new Book();
+        book.setTitle("Round Trip Book " + tag);
+        bookDao.save(book);
+        File zip = dir.resolve("export.zip").toFile();
+
+        service.exportToJson(zip);
+        ExportImportService.ImportResult result = service.importFromJson(zip);
+
+        // Every exported book already exists, so the import only reports duplicates
+        assertEquals(bookDao.count(), result.getSkipCount());
+        assertEquals(0, result.getSuccessCount());
+        assertEquals(0, result.getErrorCount());
+    }
+
+    @Test
+    @DisplayName("Should skip books that match an existing ISBN or title and authors")
+    void testImportSkipsDuplicates() throws Exception {
+        Book byIsbn = new Book();
+        byIsbn.setTitle("Existing Isbn Book " + tag);
+        byIsbn.setIsbn13("978" + tag);
+        bookDao.save(byIsbn);
+        Book byTitle = new Book();
+        byTitle.setTitle("Existing Title Book " + tag);
+        byTitle.addAuthor(new Author("Existing Author " + tag));
+        bookDao.save(byTitle);
+
+        File json = writeJson("""
+            {
+              "books": [
+                { "title": "Other Title %1$s", "isbn13": "978%1$s" },
+                { "title": "EXISTING TITLE BOOK %1$s", "authors": ["existing author %1$s"] },
+                { "title": "Existing Title Book %1$s", "authors": ["Other Author %1$s"] }
+              ]
+            }
+            """.formatted(tag));
+
+        ExportImportService.ImportResult result = service.importFromJson(json);
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(2, result.getSkipCount());
+        assertEquals(List.of(
+                "Skipped 'Other Title " + tag + "' (ISBN-13: 978" + tag + ")",
+                "Skipped 'EXISTING TITLE BOOK " + tag + "' (Title and authors match)"),
+                result.getSkipped());
+    }
+
+    @Test
+    @DisplayName("Should skip only the failing book of an import batch")
+    void testImportBatchWithFailingBook() throws Exception {
+        File json = writeJson("""
+            {
+              "books": [
+                { "title": "Batch Import Before %1$s" },
+                { "subtitle": "Book without a title" },
+                { "title": "Batch Import After %1$s" }
+              ]
+            }
+            """.formatted(tag));
+
+        ExportImportService.ImportResult result = service.importFromJson(json);
+
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(1, result.getErrorCount());
+        assertEquals(1, bookDao.search("Batch Import Before " + tag).size());
+        assertEquals(1, bookDao.search("Batch Import After " + tag).size());
+    }
+
+    /**
+     * Write a JSON document to a file in the temporary directory.
+     */
+    private File writeJson(String content) throws Exception {
+        File json = dir.resolve("library.json").toFile();
+        Files.writeString(json.toPath(), content);
+        return json;
+    }
+}
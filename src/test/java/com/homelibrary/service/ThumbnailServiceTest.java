@@ -0,0 +1,43 @@
+package com.homelibrary.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for cover thumbnail generation.
+ */
+public class ThumbnailServiceTest {
+
+    @Test
+    @DisplayName("Should generate cover thumbnails for each preview size")
+    void testThumbnails(@TempDir Path dir) throws Exception {
+        File cover = dir.resolve("42.jpg").toFile();
+        ImageIO.write(new BufferedImage(1200, 1600, BufferedImage.TYPE_INT_RGB), "jpg", cover);
+
+        assertEquals(cover.getPath(), ThumbnailService.resolve(cover.getPath(), ThumbnailService.LIST_SIZE));
+        ThumbnailService.getInstance().generate(cover.getPath()).get(30, TimeUnit.SECONDS);
+
+        String listThumbnail = ThumbnailService.resolve(cover.getPath(), ThumbnailService.LIST_SIZE);
+        BufferedImage list = ImageIO.read(new File(listThumbnail));
+        assertEquals(200, list.getWidth());
+        assertEquals(267, list.getHeight());
+
+        String formThumbnail = ThumbnailService.resolve(cover.getPath(), ThumbnailService.FORM_SIZE);
+        BufferedImage form = ImageIO.read(new File(formThumbnail));
+        assertEquals(150, form.getWidth());
+        assertEquals(200, form.getHeight());
+        assertArrayEquals(new String[] { "42.jpg" }, new File(formThumbnail).getParentFile().list());
+
+        ThumbnailService.delete(cover.getPath());
+        assertEquals(cover.getPath(), ThumbnailService.resolve(cover.getPath(), ThumbnailService.FORM_SIZE));
+    }
+}